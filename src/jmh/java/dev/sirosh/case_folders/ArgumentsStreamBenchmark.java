@@ -0,0 +1,68 @@
+package dev.sirosh.case_folders;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * End to end {@link CaseFolderSourceArgumentsProvider#provideArguments}: discovery, binding, reading and
+ * json conversion source for every case of the tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArgumentsStreamBenchmark {
+    @Param({"10", "10000"})
+    public int folders;
+
+    @Param({"eager", "lazy"})
+    public String discovery;
+
+    private CaseFolderSourceArgumentsProvider provider;
+    private ExtensionContext context;
+
+    @Setup
+    public void setUp() throws Exception {
+        Path root = CaseTrees.tree(folders, 1024);
+        Method method = TestClass.class.getMethod(discovery, Path.class, String.class, Path.class);
+        context = TestUtils.extensionContext(TestClass.class, method);
+        provider = new CaseFolderSourceArgumentsProvider((baseClass, path) -> root);
+        provider.accept(method.getAnnotation(CaseFolderSource.class));
+    }
+
+    @Benchmark
+    public void provideArguments(Blackhole blackhole) {
+        try (Stream<? extends Arguments> arguments = provider.provideArguments(context)) {
+            arguments.forEach(blackhole::consume);
+        }
+    }
+
+    public abstract static class TestClass {
+        @CaseFolderSource(folder = "/tree")
+        public abstract void eager(@CaseFolder Path caseFolder, @CaseFile(file = "input") String input,
+                                   @CaseFile(file = "item.json") @JsonArgument Path item);
+
+        @CaseFolderSource(folder = "/tree", lazyDiscovery = true)
+        public abstract void lazy(@CaseFolder Path caseFolder, @CaseFile(file = "input") String input,
+                                  @CaseFile(file = "item.json") @JsonArgument Path item);
+    }
+}
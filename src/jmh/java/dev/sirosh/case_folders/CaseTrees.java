@@ -0,0 +1,89 @@
+package dev.sirosh.case_folders;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Synthetic case trees for benchmarks, generated once under {@code target/jmh-trees} and reused by later runs.
+ */
+final class CaseTrees {
+    static final Path ROOT = Path.of("target", "jmh-trees");
+    private static final String COMPLETE = ".complete";
+
+    private CaseTrees() {
+    }
+
+    /**
+     * root with {@code folders} case folders, each with {@code input} file of {@code fileSize} bytes and
+     * {@code item.json}
+     */
+    static synchronized Path tree(int folders, int fileSize) throws IOException {
+        Path root = ROOT.resolve("tree-" + folders + "-" + fileSize);
+        if (Files.exists(root.resolve(COMPLETE))) {
+            return root;
+        }
+        Files.createDirectories(root);
+        byte[] content = content(fileSize);
+        for (int i = 0; i < folders; i++) {
+            Path caseFolder = Files.createDirectories(root.resolve(String.format("case%07d", i)));
+            Files.write(caseFolder.resolve("input"), content);
+            Files.writeString(caseFolder.resolve("item.json"), item(i));
+        }
+        Files.createFile(root.resolve(COMPLETE));
+        return root;
+    }
+
+    static synchronized Path file(long size) throws IOException {
+        Path file = ROOT.resolve("file-" + size);
+        if (Files.exists(file) && Files.size(file) == size) {
+            return file;
+        }
+        Files.createDirectories(ROOT);
+        byte[] chunk = content(64 * 1024);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (long written = 0; written < size; written += chunk.length) {
+                out.write(chunk, 0, (int) Math.min(chunk.length, size - written));
+            }
+        }
+        return file;
+    }
+
+    static synchronized Path json(String name, String content) throws IOException {
+        Files.createDirectories(ROOT);
+        return Files.writeString(ROOT.resolve(name), content);
+    }
+
+    static String item(int id) {
+        return "{\"id\":" + id + ",\"name\":\"item " + id + "\",\"price\":" + (id * 1.5) + ",\"tags\":[\"a\",\"b\"]}";
+    }
+
+    static String items(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(item(i));
+        }
+        return json.append(']').toString();
+    }
+
+    private static byte[] content(int size) {
+        byte[] line = "case folder benchmark content\n".getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i += line.length) {
+            System.arraycopy(line, 0, content, i, Math.min(line.length, size - i));
+        }
+        return content;
+    }
+
+    public static class Item {
+        public int id;
+        public String name;
+        public double price;
+        public String[] tags;
+    }
+}
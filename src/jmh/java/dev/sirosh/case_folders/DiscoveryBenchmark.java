@@ -0,0 +1,59 @@
+package dev.sirosh.case_folders;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Case folder discovery: listing root folder into shared index (cold and cached) and lazy directory stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiscoveryBenchmark {
+    @Param({"10", "10000", "1000000"})
+    public int folders;
+
+    private Path root;
+    private CaseFolderIndex warmIndex;
+
+    @Setup
+    public void setUp() throws IOException {
+        root = CaseTrees.tree(folders, 16);
+        warmIndex = new CaseFolderIndex();
+        warmIndex.caseFolders(root);
+    }
+
+    @Benchmark
+    public int indexCold() {
+        return new CaseFolderIndex().caseFolders(root).size();
+    }
+
+    @Benchmark
+    public int indexCached() {
+        return warmIndex.caseFolders(root).size();
+    }
+
+    @Benchmark
+    public long lazyStream() {
+        try (Stream<Path> caseFolders = CaseFolderIndex.stream(root)) {
+            return caseFolders.count();
+        }
+    }
+}
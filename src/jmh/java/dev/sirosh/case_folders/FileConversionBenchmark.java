@@ -0,0 +1,121 @@
+package dev.sirosh.case_folders;
+
+import dev.sirosh.case_folders.classpath_utils.CaseResources;
+import dev.sirosh.case_folders.classpath_utils.ConverterSettings;
+import dev.sirosh.case_folders.classpath_utils.FileConverter;
+import dev.sirosh.case_folders.classpath_utils.PathConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FileConverter} for every supported parameter type and file sizes from 1KB to 500MB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FileConversionBenchmark {
+    @Param({"Path", "File", "String", "InputStream", "byte[]", "ByteBuffer", "MappedByteBuffer", "CharBuffer"})
+    public String type;
+
+    @Param({"1024", "1048576", "524288000"})
+    public long size;
+
+    private Path file;
+    private PathConverter converter;
+
+    @Setup
+    public void setUp() throws Exception {
+        file = CaseTrees.file(size);
+        Class<?> parameterType = parameterType(type);
+        converter = FileConverter.fileConverter(
+                Parameters.class.getDeclaredMethod("parameter", parameterType).getParameters()[0],
+                ConverterSettings.DEFAULT);
+    }
+
+    @Benchmark
+    public void convert(Blackhole blackhole) throws Exception {
+        CaseResources resources = new CaseResources();
+        Object value = converter.convert(file, resources);
+        if (value instanceof ByteBuffer) {
+            ByteBuffer buffer = (ByteBuffer) value;
+            blackhole.consume(buffer.get(buffer.limit() - 1));
+        } else if (value instanceof InputStream) {
+            blackhole.consume(((InputStream) value).read());
+            ((InputStream) value).close();
+        } else {
+            blackhole.consume(value);
+        }
+        resources.close();
+    }
+
+    private static Class<?> parameterType(String type) {
+        switch (type) {
+            case "Path":
+                return Path.class;
+            case "File":
+                return File.class;
+            case "String":
+                return String.class;
+            case "InputStream":
+                return InputStream.class;
+            case "byte[]":
+                return byte[].class;
+            case "ByteBuffer":
+                return ByteBuffer.class;
+            case "MappedByteBuffer":
+                return MappedByteBuffer.class;
+            case "CharBuffer":
+                return CharBuffer.class;
+            default:
+                throw new IllegalArgumentException(type);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Parameters {
+        void parameter(Path value) {
+        }
+
+        void parameter(File value) {
+        }
+
+        void parameter(String value) {
+        }
+
+        void parameter(InputStream value) {
+        }
+
+        void parameter(byte[] value) {
+        }
+
+        void parameter(ByteBuffer value) {
+        }
+
+        void parameter(MappedByteBuffer value) {
+        }
+
+        void parameter(CharBuffer value) {
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package dev.sirosh.case_folders;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link JsonArgumentConverter} for flat and generic parameter types, from string and straight from file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonConversionBenchmark {
+    @Param({"flat", "generic"})
+    public String shape;
+
+    private final JsonArgumentConverter converter = new JsonArgumentConverter();
+    private String json;
+    private Path file;
+    private ParameterContext parameterContext;
+
+    @Setup
+    public void setUp() throws Exception {
+        Type type;
+        if (shape.equals("flat")) {
+            json = CaseTrees.item(1);
+            type = CaseTrees.Item.class;
+        } else {
+            json = CaseTrees.items(1000);
+            type = new TypeReference<List<CaseTrees.Item>>() {
+            }.getType();
+        }
+        file = CaseTrees.json(shape + ".json", json);
+        Parameter parameter = mock();
+        when(parameter.getParameterizedType()).thenReturn(type);
+        parameterContext = mock();
+        when(parameterContext.getParameter()).thenReturn(parameter);
+    }
+
+    @Benchmark
+    public Object fromString() {
+        return converter.convert(json, parameterContext);
+    }
+
+    @Benchmark
+    public Object fromFile() {
+        return converter.convert(file, parameterContext);
+    }
+}
@@ -0,0 +1,93 @@
+package dev.sirosh.case_folders;
+
+import dev.sirosh.case_folders.classpath_utils.CaseResources;
+import dev.sirosh.case_folders.classpath_utils.DefaultPathProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static dev.sirosh.case_folders.classpath_utils.FileConverter.convertFileParameter;
+import static dev.sirosh.case_folders.classpath_utils.FileConverter.convertFolderParameter;
+
+/**
+ * Per case overhead of binding test method parameters: compiled plan against resolving parameters for every case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterBindingBenchmark {
+    private Path caseFolder;
+    private Method method;
+    private ParameterBindingPlan plan;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, NoSuchMethodException {
+        caseFolder = Files.createTempDirectory("case-folders-binding");
+        for (String file : new String[]{"input", "expected", "schema", "config"}) {
+            Files.writeString(caseFolder.resolve(file), file);
+        }
+        method = TestClass.class.getMethod("test", Path.class, Path.class, File.class, Path.class, File.class);
+        plan = ParameterBindingPlan.compile(method, DefaultPathProvider.getInstance(),
+                TestUtils.extensionContext(TestClass.class, method));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(caseFolder)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public Object[] compiledPlan() {
+        return plan.bind(caseFolder, new CaseResources());
+    }
+
+    @Benchmark
+    public Object[] resolvePerCase() {
+        Parameter[] parameters = method.getParameters();
+        Object[] arguments = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            CaseFile annotation = parameter.getAnnotation(CaseFile.class);
+            if (parameter.getAnnotation(CaseFolder.class) != null) {
+                arguments[i] = convertFolderParameter(caseFolder, parameter);
+                continue;
+            }
+            Path path = caseFolder.resolve(annotation.file());
+            if (Files.isDirectory(path)) {
+                throw new IllegalStateException("File " + path + " should be file");
+            }
+            arguments[i] = convertFileParameter(parameter, path);
+        }
+        return arguments;
+    }
+
+    public abstract static class TestClass {
+        public abstract void test(@CaseFolder Path caseFolder, @CaseFile(file = "input") Path input,
+                                  @CaseFile(file = "expected") File expected, @CaseFile(file = "schema") Path schema,
+                                  @CaseFile(file = "config") File config);
+    }
+}
@@ -0,0 +1,61 @@
+package dev.sirosh.case_folders;
+
+import dev.sirosh.case_folders.classpath_utils.CaseResources;
+
+import java.nio.file.Path;
+
+/**
+ * Case folder with arguments bound to it, not yet handed to junit.
+ */
+class BoundCase {
+    private final Path caseFolder;
+    private final Object[] arguments;
+    private final CaseResources resources;
+
+    private BoundCase(Path caseFolder, Object[] arguments, CaseResources resources) {
+        this.caseFolder = caseFolder;
+        this.arguments = arguments;
+        this.resources = resources;
+    }
+
+    static BoundCase bind(ParameterBindingPlan plan, Path caseFolder) {
+        CaseResources resources = new CaseResources();
+        try {
+            return new BoundCase(caseFolder, plan.bind(caseFolder, resources), resources);
+        } catch (RuntimeException e) {
+            release(resources, e);
+            throw e;
+        }
+    }
+
+    Path getCaseFolder() {
+        return caseFolder;
+    }
+
+    Object[] getArguments() {
+        return arguments;
+    }
+
+    CaseResources getResources() {
+        return resources;
+    }
+
+    /**
+     * for cases that were bound but never handed to junit
+     */
+    void discard() {
+        try {
+            resources.close();
+        } catch (Exception e) {
+            // case was never run, nothing to report to
+        }
+    }
+
+    private static void release(CaseResources resources, RuntimeException failure) {
+        try {
+            resources.close();
+        } catch (Exception e) {
+            failure.addSuppressed(e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package dev.sirosh.case_folders;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Field (NDJSON) or column (CSV) of {@link CaseLinesSource} line bound to parameter,
+ * may be omitted when test is compiled with {@code -parameters} and field has the parameter name.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CaseField {
+  String value();
+}
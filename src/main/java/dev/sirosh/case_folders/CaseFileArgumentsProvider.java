@@ -1,22 +1,44 @@
 package dev.sirosh.case_folders;
 
+import dev.sirosh.case_folders.classpath_utils.CaseResources;
 import dev.sirosh.case_folders.classpath_utils.DefaultPathProvider;
 import dev.sirosh.case_folders.classpath_utils.PathProvider;
 import dev.sirosh.case_folders.classpath_utils.Source;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.api.extension.ParameterResolutionException;
 import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.jupiter.api.extension.TestInstancePostProcessor;
+import org.junit.platform.commons.PreconditionViolationException;
+import org.junit.platform.commons.support.AnnotationSupport;
 import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.commons.util.ReflectionUtils;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.Parameter;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
-import static dev.sirosh.case_folders.classpath_utils.FileConverter.convertFileParameter;
+import static dev.sirosh.case_folders.classpath_utils.FileConverter.fileConverter;
 
-public class CaseFileArgumentsProvider implements ParameterResolver {
+/**
+ * Resolves {@link CaseFile} parameters of tests and {@link CaseFile} fields of test instances.
+ * Fields are loaded once per test instance, with {@code @TestInstance(PER_CLASS)} once for all methods of class.
+ * Resources of fields are released with their instance: after each test, or after all tests with
+ * {@code PER_CLASS} lifecycle.
+ */
+public class CaseFileArgumentsProvider implements ParameterResolver, TestInstancePostProcessor, AfterEachCallback,
+        AfterAllCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(CaseFileArgumentsProvider.class);
     private final PathProvider pathProvider;
 
     CaseFileArgumentsProvider() {
@@ -33,10 +55,10 @@ public class CaseFileArgumentsProvider implements ParameterResolver {
         boolean annotated = parameterContext.isAnnotated(CaseFile.class);
         if (annotated && parameterContext.getDeclaringExecutable() instanceof Constructor) {
             throw new ParameterResolutionException(
-                    "@FileArgument is not supported on constructor parameters. Please use field injection instead.");
-            // todo maybe allow constructor
+                    "@CaseFile is not supported on constructor parameters. Please use field injection instead.");
         }
-        return annotated;
+        // parameters of @CaseFolderSource tests are provided by CaseFolderSourceArgumentsProvider
+        return annotated && !parameterContext.getDeclaringExecutable().isAnnotationPresent(CaseFolderSource.class);
     }
 
     @Override
@@ -44,13 +66,111 @@ public class CaseFileArgumentsProvider implements ParameterResolver {
             throws ParameterResolutionException {
         Parameter parameter = parameterContext.getParameter();
         CaseFile annotation = parameter.getAnnotation(CaseFile.class);
-        Source source = pathProvider.classpathResource(annotation.file());
+        Source source = pathProvider.classpathFile(annotation.file());
         Path path = source.get(extensionContext);
         assertIsFile(path);
-        return convertFileParameter(parameter, path);
+        if (parameter.isAnnotationPresent(JsonArgument.class)) {
+            return JsonArgumentConverter.readValue(path, parameter.getParameterizedType());
+        }
+        CaseResources resources = ResourceLeaks.getInstance(extensionContext)
+                .resources(extensionContext.getStore(NAMESPACE), CaseResources.class);
+        return fileConverter(parameter, CaseFolderConfiguration.converterSettings(extensionContext))
+                .convert(path, resources);
+    }
+
+    @Override
+    public void postProcessTestInstance(Object testInstance, ExtensionContext context) {
+        List<Field> fields = AnnotationSupport.findAnnotatedFields(testInstance.getClass(), CaseFile.class);
+        if (fields.isEmpty()) {
+            return;
+        }
+        ResourceLeaks leaks = ResourceLeaks.getInstance(context);
+        CaseResources resources = context.getStore(NAMESPACE)
+                .getOrComputeIfAbsent(FieldResources.class, key -> new FieldResources(leaks), FieldResources.class)
+                .of(testInstance);
+        for (Field field : fields) {
+            Preconditions.condition(!ReflectionUtils.isStatic(field),
+                    () -> "@CaseFile field " + field.getName() + " should not be static");
+            Preconditions.condition(!ReflectionUtils.isFinal(field),
+                    () -> "@CaseFile field " + field.getName() + " should not be final");
+            Object value = resolveField(field, context, resources);
+            try {
+                ReflectionUtils.makeAccessible(field).set(testInstance, value);
+            } catch (IllegalAccessException e) {
+                throw new PreconditionViolationException("Can't inject @CaseFile field " + field.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * with {@code PER_METHOD} lifecycle (JUnit passes class context to post processor) instance is done after its test
+     */
+    @Override
+    public void afterEach(ExtensionContext context) throws Exception {
+        if (context.getTestInstanceLifecycle().orElse(TestInstance.Lifecycle.PER_METHOD) != TestInstance.Lifecycle.PER_METHOD) {
+            return;
+        }
+        FieldResources fieldResources = context.getStore(NAMESPACE).get(FieldResources.class, FieldResources.class);
+        if (fieldResources != null) {
+            fieldResources.release(context.getRequiredTestInstance());
+        }
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) throws Exception {
+        FieldResources fieldResources = context.getStore(NAMESPACE).get(FieldResources.class, FieldResources.class);
+        if (fieldResources != null) {
+            fieldResources.close();
+        }
+    }
+
+    private Object resolveField(Field field, ExtensionContext context, CaseResources resources) {
+        CaseFile annotation = field.getAnnotation(CaseFile.class);
+        Path path = pathProvider.classpathFile(annotation.file()).get(context);
+        assertIsFile(path);
+        if (field.isAnnotationPresent(JsonArgument.class)) {
+            return JsonArgumentConverter.readValue(path, field.getGenericType());
+        }
+        return fileConverter(field.getType(), field.getGenericType(), field.getName(),
+                CaseFolderConfiguration.converterSettings(context))
+                .convert(path, resources);
     }
 
     private void assertIsFile(Path path) {
         Preconditions.condition(!Files.isDirectory(path), "path " + path + "should point to file, but points to directory");
     }
+
+    /**
+     * resources of fields by test instance, counted by {@link ResourceLeaks} when released
+     */
+    private static final class FieldResources implements ExtensionContext.Store.CloseableResource {
+        private final ResourceLeaks leaks;
+        private final Map<Object, CaseResources> resources = Collections.synchronizedMap(new IdentityHashMap<>());
+
+        private FieldResources(ResourceLeaks leaks) {
+            this.leaks = leaks;
+        }
+
+        CaseResources of(Object testInstance) {
+            return resources.computeIfAbsent(testInstance, key -> new CaseResources());
+        }
+
+        void release(Object testInstance) throws Exception {
+            CaseResources instanceResources = resources.remove(testInstance);
+            if (instanceResources != null) {
+                leaks.release(instanceResources);
+            }
+        }
+
+        @Override
+        public void close() throws Exception {
+            List<Object> testInstances;
+            synchronized (resources) {
+                testInstances = new ArrayList<>(resources.keySet());
+            }
+            for (Object testInstance : testInstances) {
+                release(testInstance);
+            }
+        }
+    }
 }
@@ -0,0 +1,80 @@
+package dev.sirosh.case_folders;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Include and exclude patterns matched against case folder names, so filtered out cases are never read.
+ * Patterns use {@link java.nio.file.FileSystem#getPathMatcher} syntax, {@code glob:} prefix may be omitted:
+ * {@code order-*}, {@code glob:order-{1,2}}, {@code regex:order-\d+}.
+ */
+class CaseFilter {
+    private static final String GLOB = "glob:";
+    private static final String REGEX = "regex:";
+
+    private final List<PathMatcher> includes;
+    private final List<PathMatcher> excludes;
+
+    /**
+     * @param includes case runs when its name matches any of them, every case when empty
+     * @param excludes case doesn't run when its name matches any of them
+     */
+    CaseFilter(List<String> includes, List<String> excludes) {
+        this.includes = matchers(includes);
+        this.excludes = matchers(excludes);
+    }
+
+    boolean contains(Path caseFolder) {
+        Path name = Path.of(caseFolder.getFileName().toString());
+        return (includes.isEmpty() || matches(includes, name)) && !matches(excludes, name);
+    }
+
+    boolean isEmpty() {
+        return includes.isEmpty() && excludes.isEmpty();
+    }
+
+    /**
+     * splits comma separated patterns, commas of glob groups like {@code {a,b}} are kept
+     */
+    static List<String> split(String patterns) {
+        List<String> split = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < patterns.length(); i++) {
+            char c = patterns.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}') {
+                depth--;
+            } else if (c == ',' && depth <= 0) {
+                split.add(patterns.substring(start, i));
+                start = i + 1;
+            }
+        }
+        split.add(patterns.substring(start));
+        return split.stream()
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static boolean matches(List<PathMatcher> matchers, Path name) {
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathMatcher> matchers(List<String> patterns) {
+        return patterns.stream()
+                .map(pattern -> pattern.startsWith(GLOB) || pattern.startsWith(REGEX) ? pattern : GLOB + pattern)
+                .map(FileSystems.getDefault()::getPathMatcher)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,125 @@
+package dev.sirosh.case_folders;
+
+import dev.sirosh.case_folders.classpath_utils.ConverterSettings;
+import dev.sirosh.case_folders.classpath_utils.FileContentCache;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Run-wide settings, read from JUnit configuration parameters ({@code junit-platform.properties}
+ * or system properties).
+ */
+class CaseFolderConfiguration {
+    static final String MAPPING_THRESHOLD = "casefolders.mapping.threshold";
+    static final String CACHE_BUDGET = "casefolders.cache.budget";
+    static final String PREFETCH = "casefolders.prefetch";
+    static final String SHARD_INDEX = "casefolders.shard.index";
+    static final String SHARD_COUNT = "casefolders.shard.count";
+    static final String HISTORY = "casefolders.history";
+    static final String INCREMENTAL = "casefolders.incremental";
+    static final String INCLUDE = "casefolders.include";
+    static final String EXCLUDE = "casefolders.exclude";
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(CaseFolderConfiguration.class);
+
+    private CaseFolderConfiguration() {
+    }
+
+    static ConverterSettings converterSettings(ExtensionContext context) {
+        return new ConverterSettings(mappingThreshold(context), contentCache(context));
+    }
+
+    private static long mappingThreshold(ExtensionContext context) {
+        return longParameter(context, MAPPING_THRESHOLD, ConverterSettings.DEFAULT_MAPPING_THRESHOLD);
+    }
+
+    /**
+     * content cache is shared by whole run and enabled by positive {@value #CACHE_BUDGET} (bytes)
+     */
+    static FileContentCache contentCache(ExtensionContext context) {
+        long budget = longParameter(context, CACHE_BUDGET, 0);
+        if (budget <= 0) {
+            return null;
+        }
+        return context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(FileContentCache.class, key -> new FileContentCache(budget), FileContentCache.class);
+    }
+
+    static int prefetchWindow(ExtensionContext context, CaseFolderSource folderSource) {
+        if (folderSource.prefetch() > 0) {
+            return folderSource.prefetch();
+        }
+        return (int) longParameter(context, PREFETCH, 0);
+    }
+
+    /**
+     * @return shard of cases to run or {@code null} when all cases run, annotation attributes take precedence
+     * over {@value #SHARD_INDEX} and {@value #SHARD_COUNT}
+     */
+    static CaseShard shard(ExtensionContext context, CaseFolderSource folderSource) {
+        int count = folderSource.shardCount() > 0
+                ? folderSource.shardCount()
+                : (int) longParameter(context, SHARD_COUNT, 0);
+        if (count <= 1) {
+            return null;
+        }
+        int index = folderSource.shardIndex() >= 0
+                ? folderSource.shardIndex()
+                : (int) longParameter(context, SHARD_INDEX, 0);
+        return new CaseShard(index, count);
+    }
+
+    /**
+     * @return filter of case names or {@code null} when all cases run; case runs only when it passes both
+     * annotation patterns and comma separated {@value #INCLUDE} and {@value #EXCLUDE}
+     */
+    static Predicate<Path> filter(ExtensionContext context, CaseFolderSource folderSource) {
+        CaseFilter annotated = new CaseFilter(List.of(folderSource.include()), List.of(folderSource.exclude()));
+        CaseFilter configured = new CaseFilter(patterns(context, INCLUDE), patterns(context, EXCLUDE));
+        if (annotated.isEmpty() && configured.isEmpty()) {
+            return null;
+        }
+        return caseFolder -> annotated.contains(caseFolder) && configured.contains(caseFolder);
+    }
+
+    private static List<String> patterns(ExtensionContext context, String key) {
+        return context.getConfigurationParameter(key)
+                .map(CaseFilter::split)
+                .orElse(List.of());
+    }
+
+    /**
+     * case durations history is shared by whole run and enabled by {@value #HISTORY} (path of history file)
+     */
+    static CaseHistory history(ExtensionContext context) {
+        return context.getConfigurationParameter(HISTORY)
+                .map(String::trim)
+                .filter(file -> !file.isEmpty())
+                .map(file -> context.getRoot().getStore(NAMESPACE)
+                        .getOrComputeIfAbsent(CaseHistory.class, key -> new CaseHistory(Path.of(file)), CaseHistory.class))
+                .orElse(null);
+    }
+
+    /**
+     * incremental mode is enabled by {@value #INCREMENTAL} (path of manifest file), cases unchanged since
+     * they passed are skipped
+     */
+    static CaseManifest manifest(ExtensionContext context) {
+        return context.getConfigurationParameter(INCREMENTAL)
+                .map(String::trim)
+                .filter(file -> !file.isEmpty())
+                .map(file -> context.getRoot().getStore(NAMESPACE)
+                        .getOrComputeIfAbsent(CaseManifest.class, key -> new CaseManifest(Path.of(file)), CaseManifest.class))
+                .orElse(null);
+    }
+
+    private static long longParameter(ExtensionContext context, String key, long defaultValue) {
+        return context.getConfigurationParameter(key)
+                .map(String::trim)
+                .map(Long::parseLong)
+                .orElse(defaultValue);
+    }
+}
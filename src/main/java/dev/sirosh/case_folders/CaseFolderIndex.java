@@ -0,0 +1,137 @@
+package dev.sirosh.case_folders;
+
+import dev.sirosh.case_folders.classpath_utils.CaseBundle;
+import dev.sirosh.case_folders.jfr.CaseDiscoveryEvent;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Listing of case folders shared by every test of the run, kept in the root {@link ExtensionContext.Store}.
+ * Each root folder is listed once and listed again only when its modification time changes.
+ * Case bundles are mapped once and unmapped when the run finishes.
+ */
+public class CaseFolderIndex implements ExtensionContext.Store.CloseableResource {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(CaseFolderIndex.class);
+
+    private final ConcurrentMap<Path, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Path, CaseBundle> bundles = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    CaseFolderIndex() {
+    }
+
+    public static CaseFolderIndex getInstance(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(CaseFolderIndex.class, key -> new CaseFolderIndex(), CaseFolderIndex.class);
+    }
+
+    List<Path> caseFolders(Path rootFolder) {
+        CaseDiscoveryEvent event = new CaseDiscoveryEvent();
+        event.begin();
+        Path key = rootFolder.toAbsolutePath().normalize();
+        FileTime modified = lastModified(key);
+        List<Path> caseFolders = entries.compute(key, (path, cached) -> {
+            if (cached != null && cached.modified.equals(modified)) {
+                hits.incrementAndGet();
+                event.cached = true;
+                return cached;
+            }
+            misses.incrementAndGet();
+            return new Entry(modified, list(path));
+        }).caseFolders;
+        if (event.shouldCommit()) {
+            event.path = key.toString();
+            event.caseCount = caseFolders.size();
+            event.commit();
+        }
+        return caseFolders;
+    }
+
+    /**
+     * lazy listing, not cached: case folders are read from directory while stream is consumed
+     */
+    static Stream<Path> stream(Path rootFolder) {
+        CaseDiscoveryEvent event = new CaseDiscoveryEvent();
+        event.begin();
+        AtomicLong caseCount = new AtomicLong();
+        DirectoryStream<Path> directoryStream;
+        try {
+            directoryStream = Files.newDirectoryStream(rootFolder, Files::isDirectory);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("I/O error in case folders listing", e);
+        }
+        return StreamSupport.stream(directoryStream.spliterator(), false)
+                .peek(caseFolder -> caseCount.incrementAndGet())
+                .onClose(() -> {
+                    if (event.shouldCommit()) {
+                        event.path = rootFolder.toString();
+                        event.caseCount = caseCount.get();
+                        event.lazy = true;
+                        event.commit();
+                    }
+                    try {
+                        directoryStream.close();
+                    } catch (IOException e) {
+                        throw new IllegalArgumentException("I/O error in case folders listing", e);
+                    }
+                });
+    }
+
+    CaseBundle bundle(Path bundleFile) {
+        return bundles.computeIfAbsent(bundleFile.toAbsolutePath().normalize(), CaseBundle::open);
+    }
+
+    @Override
+    public void close() {
+        bundles.values().forEach(CaseBundle::close);
+        bundles.clear();
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    private static FileTime lastModified(Path rootFolder) {
+        try {
+            return Files.getLastModifiedTime(rootFolder);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("I/O error in case folders listing", e);
+        }
+    }
+
+    private static List<Path> list(Path rootFolder) {
+        try (Stream<Path> caseFoldersStream = Files.list(rootFolder).filter(Files::isDirectory)) {
+            return Collections.unmodifiableList(caseFoldersStream.collect(Collectors.toList()));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("I/O error in case folders listing", e);
+        }
+    }
+
+    private static final class Entry {
+        private final FileTime modified;
+        private final List<Path> caseFolders;
+
+        private Entry(FileTime modified, List<Path> caseFolders) {
+            this.modified = modified;
+            this.caseFolders = caseFolders;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package dev.sirosh.case_folders;
 
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 
 import java.lang.annotation.Documented;
@@ -12,8 +13,48 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 @ArgumentsSource(CaseFolderSourceArgumentsProvider.class)
+@ExtendWith(CaseInvocationExtension.class)
 public @interface CaseFolderSource {
   String folder();
 
+  /**
+   * path of zip or jar archive containing {@link #folder()}, relative to working directory;
+   * empty to look up folder on classpath (which may be inside a jar as well)
+   */
+  String archive() default "";
+
   boolean nameFromCaseFolder() default true;
+
+  /**
+   * discover case folders while iterating instead of listing (and caching) the whole root folder upfront
+   */
+  boolean lazyDiscovery() default false;
+
+  /**
+   * number of cases whose files are read in background while current case runs,
+   * 0 falls back to casefolders.prefetch configuration parameter (no prefetch by default)
+   */
+  int prefetch() default 0;
+
+  /**
+   * index of shard of cases to run on this node, -1 falls back to casefolders.shard.index configuration parameter
+   */
+  int shardIndex() default -1;
+
+  /**
+   * number of shards cases are split into, 0 falls back to casefolders.shard.count configuration parameter
+   * (all cases run by default)
+   */
+  int shardCount() default 0;
+
+  /**
+   * patterns of case folder names to run (glob by default, {@code regex:} prefix for regular expression),
+   * all cases when empty; casefolders.include configuration parameter narrows them further
+   */
+  String[] include() default {};
+
+  /**
+   * patterns of case folder names to skip, together with casefolders.exclude configuration parameter
+   */
+  String[] exclude() default {};
 }
@@ -1,5 +1,7 @@
 package dev.sirosh.case_folders;
 
+import dev.sirosh.case_folders.classpath_utils.ArchiveFileSystems;
+import dev.sirosh.case_folders.classpath_utils.CaseBundle;
 import dev.sirosh.case_folders.classpath_utils.DefaultPathProvider;
 import dev.sirosh.case_folders.classpath_utils.PathProvider;
 import dev.sirosh.case_folders.classpath_utils.Source;
@@ -7,24 +9,26 @@ import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.support.AnnotationConsumer;
-import org.junit.platform.commons.PreconditionViolationException;
 import org.junit.platform.commons.util.Preconditions;
 
-import java.io.IOException;
-import java.lang.reflect.Parameter;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static dev.sirosh.case_folders.classpath_utils.FileConverter.convertFileParameter;
-import static dev.sirosh.case_folders.classpath_utils.FileConverter.convertFolderParameter;
-import static java.util.Objects.isNull;
-import static java.util.Objects.nonNull;
 import static org.junit.jupiter.api.Named.named;
 
+/**
+ * Safe for parallel execution: everything shared between test methods (listing, caches, history, prefetch threads)
+ * lives in concurrent structures of the root {@link ExtensionContext.Store}.
+ */
 class CaseFolderSourceArgumentsProvider implements ArgumentsProvider, AnnotationConsumer<CaseFolderSource> {
+    private static final String UNCHANGED = "no case changed since it last passed";
+    private static final String FILTERED = "no case matches include and exclude patterns";
+
     private CaseFolderSource folderSource;
     private final PathProvider pathProvider;
 
@@ -38,17 +42,60 @@ class CaseFolderSourceArgumentsProvider implements ArgumentsProvider, Annotation
 
     @Override
     public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
-        List<Path> caseFolders = getCaseFolders(context, folderSource.folder());
+        Path rootFolder = folderSource.archive().isEmpty()
+                ? getRootFolder(context, folderSource.folder())
+                : getArchiveFolder(folderSource.archive(), folderSource.folder());
+        CaseBundle bundle = Files.isRegularFile(rootFolder)
+                ? CaseFolderIndex.getInstance(context).bundle(rootFolder)
+                : null;
+        ParameterBindingPlan plan = ParameterBindingPlan.compile(context.getRequiredTestMethod(), pathProvider, context,
+                bundle);
+        CaseInvocations invocations = CaseInvocations.getInstance(context);
+        Predicate<Path> filter = CaseFolderConfiguration.filter(context, folderSource);
+        CaseShard shard = CaseFolderConfiguration.shard(context, folderSource);
+        AtomicBoolean listed = new AtomicBoolean();
+        AtomicBoolean assigned = new AtomicBoolean();
+        Stream<Path> caseFolders = getCaseFolders(context, folderSource, rootFolder, bundle, filter)
+                .peek(caseFolder -> listed.set(true));
+        if (shard != null) {
+            caseFolders = caseFolders.filter(shard::contains)
+                    .peek(caseFolder -> assigned.set(true));
+        }
 
-        return caseFolders.stream()
-                .map(caseFolder -> {
-                    Parameter[] parameters = context.getRequiredTestMethod().getParameters();
-                    Object[] arguments = new Object[parameters.length];
-                    provideFolderParam(caseFolder, parameters, arguments);
-                    provideFileParams(caseFolder, parameters, arguments, context);
+        CaseManifest manifest = CaseFolderConfiguration.manifest(context);
+        if (manifest != null) {
+            Preconditions.condition(bundle == null, () -> "Incremental mode (" + CaseFolderConfiguration.INCREMENTAL
+                    + ") can't tell changed cases of case bundle " + rootFolder + ", run cases of bundles in full");
+            String methodKey = CaseHistory.methodKey(context.getRequiredTestMethod());
+            String methodHash = manifest.methodHash(manifest.classHash(context.getRequiredTestClass()),
+                    plan.absoluteFiles());
+            invocations.recordTo(manifest, methodKey, methodHash);
+            caseFolders = folderSource.lazyDiscovery()
+                    ? caseFolders.filter(caseFolder -> !manifest.unchanged(methodKey, methodHash, caseFolder))
+                    : manifest.changed(methodKey, methodHash, caseFolders.collect(Collectors.toList())).stream();
+        }
+
+        CaseHistory history = CaseFolderConfiguration.history(context);
+        if (history != null) {
+            String methodKey = CaseHistory.methodKey(context.getRequiredTestMethod());
+            invocations.recordTo(history, methodKey);
+            if (!folderSource.lazyDiscovery()) {
+                caseFolders = history.longestFirst(methodKey, caseFolders.collect(Collectors.toList())).stream();
+            }
+        }
+
+        int prefetchWindow = CaseFolderConfiguration.prefetchWindow(context, folderSource);
+        Stream<BoundCase> boundCases = prefetchWindow > 0
+                ? CasePrefetcher.prefetch(caseFolders, plan, prefetchWindow, context)
+                : caseFolders.map(caseFolder -> BoundCase.bind(plan, caseFolder));
+
+        Stream<Arguments> caseArguments = boundCases
+                .map(boundCase -> {
+                    Object[] arguments = boundCase.getArguments();
+                    invocations.register(boundCase.getCaseFolder(), boundCase.getResources());
 
                     if (folderSource.nameFromCaseFolder()) {
-                        String caseName = caseFolder.getFileName().toString();
+                        String caseName = boundCase.getCaseFolder().getFileName().toString();
                         if (arguments.length == 0) {
                             return Arguments.of(named(caseName, null));
                         }
@@ -56,43 +103,43 @@ class CaseFolderSourceArgumentsProvider implements ArgumentsProvider, Annotation
                     }
                     return Arguments.of(arguments);
                 });
+        if (manifest == null && filter == null && shard == null) {
+            return caseArguments;
+        }
+        // junit fails test without invocations, so skipped invocation is provided when no case matched,
+        // belongs to shard or changed
+        AtomicBoolean provided = new AtomicBoolean();
+        return Stream.concat(
+                caseArguments.peek(arguments -> provided.set(true)),
+                Stream.generate(() -> provided.get()
+                                ? null
+                                : skipped(invocations, skipReason(filter, listed.get(), shard, assigned.get()),
+                                plan.size(), folderSource))
+                        .limit(1)
+                        .filter(Objects::nonNull));
     }
 
-    public static void provideFolderParam(Path caseFolder, Parameter[] parameters, Object[] arguments) {
-        for (int i = 0; i < parameters.length; i++) {
-            Parameter parameter = parameters[i];
-            if (isNull(parameter.getAnnotation(CaseFolder.class))) {
-                continue;
-            }
-            arguments[i] = convertFolderParameter(caseFolder, parameter);
+    private static String skipReason(Predicate<Path> filter, boolean listed, CaseShard shard, boolean assigned) {
+        if (filter != null && !listed) {
+            return FILTERED;
+        }
+        if (shard != null && !assigned) {
+            return "no cases in shard " + shard.getIndex() + "/" + shard.getCount();
         }
+        return UNCHANGED;
     }
 
-    private void provideFileParams(Path caseFolder, Parameter[] parameters, Object[] arguments,
-                                   ExtensionContext context) {
-        for (int i = 0; i < parameters.length; i++) {
-            Parameter parameter = parameters[i];
-            CaseFile annotation = parameter.getAnnotation(CaseFile.class);
-            if (nonNull(annotation) && nonNull(parameter.getAnnotation(CaseFolder.class))) {
-                throw new PreconditionViolationException("Parameter " + parameter.getName()
-                        + " has conflicting annotations @CaseFolder and @CaseFile, use only one per field");
-            }
-            if (nonNull(parameter.getAnnotation(CaseFolder.class))) {
-                continue;
+    private static Arguments skipped(CaseInvocations invocations, String reason, int size,
+                                     CaseFolderSource folderSource) {
+        invocations.skip(reason);
+        Object[] arguments = new Object[size];
+        if (folderSource.nameFromCaseFolder()) {
+            if (size == 0) {
+                return Arguments.of(named(reason, null));
             }
-            Preconditions.condition(nonNull(annotation), "No @CaseFile annotation found on parameter " + i);
-
-
-            String fileStr = annotation.file();
-            Path path;
-            if (annotation.absolute()) {
-                path = pathProvider.classpathResource(fileStr).get(context);
-            } else {
-                path = caseFolder.resolve(fileStr);
-            }
-            Preconditions.condition(!Files.isDirectory(path), "File " + path + " should be file");
-            arguments[i] = convertFileParameter(parameter, path);
+            arguments[0] = named(reason, null);
         }
+        return Arguments.of(arguments);
     }
 
     @Override
@@ -103,16 +150,33 @@ class CaseFolderSourceArgumentsProvider implements ArgumentsProvider, Annotation
     private Path getRootFolder(ExtensionContext context, String folder) {
         Source source = pathProvider.classpathResource(folder);
         Path rootFolder = source.get(context);
-        Preconditions.condition(Files.isDirectory(rootFolder), "Classpath resource [" + folder + "] must be folder");
+        Preconditions.condition(Files.isDirectory(rootFolder) || CaseBundle.isBundle(rootFolder),
+                "Classpath resource [" + folder + "] must be folder or case bundle");
+        return rootFolder;
+    }
+
+    private static Path getArchiveFolder(String archive, String folder) {
+        Path archivePath = Path.of(archive);
+        Preconditions.condition(Files.isRegularFile(archivePath), "Archive [" + archive + "] must be file");
+        Path rootFolder = ArchiveFileSystems.root(archivePath).resolve(folder);
+        Preconditions.condition(Files.isDirectory(rootFolder),
+                "Archive [" + archive + "] entry [" + folder + "] must be folder");
         return rootFolder;
     }
 
-    private List<Path> getCaseFolders(ExtensionContext context, String folder) {
-        Path rootFolder = getRootFolder(context, folder);
-        try (Stream<Path> caseFoldersStream = Files.list(rootFolder).filter(Files::isDirectory)) {
-            return caseFoldersStream.collect(Collectors.toList());
-        } catch (IOException e) {
-            throw new IllegalArgumentException("I/O error in case folders listing", e);
+    /**
+     * @param filter case name filter applied while listing, before any file of case is read, or null
+     */
+    private static Stream<Path> getCaseFolders(ExtensionContext context, CaseFolderSource folderSource, Path rootFolder,
+                                               CaseBundle bundle, Predicate<Path> filter) {
+        Stream<Path> caseFolders;
+        if (bundle != null) {
+            caseFolders = bundle.caseNames().stream().map(rootFolder::resolve);
+        } else if (folderSource.lazyDiscovery()) {
+            caseFolders = CaseFolderIndex.stream(rootFolder);
+        } else {
+            caseFolders = CaseFolderIndex.getInstance(context).caseFolders(rootFolder).stream();
         }
+        return filter == null ? caseFolders : caseFolders.filter(filter);
     }
 }
@@ -0,0 +1,148 @@
+package dev.sirosh.case_folders;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Durations of cases from previous runs, kept in a local file and shared by every test of the run.
+ * Lets cases be started longest first, so a few huge cases don't end up running alone at the end of parallel run.
+ * Cases without history are estimated from size of their files.
+ */
+class CaseHistory implements ExtensionContext.Store.CloseableResource {
+    private static final Logger LOGGER = Logger.getLogger(CaseHistory.class.getName());
+
+    private final Path file;
+    private final ConcurrentMap<String, ConcurrentMap<String, Timing>> methods = new ConcurrentHashMap<>();
+
+    CaseHistory(Path file) {
+        this.file = file;
+        load();
+    }
+
+    static String methodKey(Method method) {
+        return method.getDeclaringClass().getName() + "#" + method.getName() + Arrays.stream(method.getParameterTypes())
+                .map(Class::getName)
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    /**
+     * @return case folders ordered by expected duration, longest first
+     */
+    List<Path> longestFirst(String methodKey, List<Path> caseFolders) {
+        Map<String, Timing> timings = methods.getOrDefault(methodKey, new ConcurrentHashMap<>());
+        long knownNanos = 0;
+        long knownBytes = 0;
+        for (Timing timing : timings.values()) {
+            knownNanos += timing.nanos;
+            knownBytes += timing.bytes;
+        }
+        double nanosPerByte = knownNanos > 0 && knownBytes > 0 ? (double) knownNanos / knownBytes : 1;
+
+        Map<Path, Double> costs = new HashMap<>();
+        for (Path caseFolder : caseFolders) {
+            Timing timing = timings.get(caseName(caseFolder));
+            costs.put(caseFolder, timing != null ? timing.nanos : folderBytes(caseFolder) * nanosPerByte);
+        }
+        List<Path> ordered = new ArrayList<>(caseFolders);
+        ordered.sort(Comparator.comparing(costs::get, Comparator.reverseOrder()));
+        return ordered;
+    }
+
+    void record(String methodKey, Path caseFolder, long nanos) {
+        methods.computeIfAbsent(methodKey, key -> new ConcurrentHashMap<>())
+                .put(caseName(caseFolder), new Timing(nanos, folderBytes(caseFolder)));
+    }
+
+    @Override
+    public void close() {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
+                for (Map.Entry<String, ConcurrentMap<String, Timing>> method : methods.entrySet()) {
+                    for (Map.Entry<String, Timing> timing : method.getValue().entrySet()) {
+                        writer.write(method.getKey() + '\t' + timing.getKey() + '\t'
+                                + timing.getValue().nanos + '\t' + timing.getValue().bytes);
+                        writer.newLine();
+                    }
+                }
+            }
+            move(temp, file);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, e, () -> "case history is not saved to " + file);
+        }
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try (Stream<String> lines = Files.lines(file)) {
+            lines.map(line -> line.split("\t"))
+                    .filter(fields -> fields.length == 4)
+                    .forEach(fields -> methods.computeIfAbsent(fields[0], key -> new ConcurrentHashMap<>())
+                            .put(fields[1], new Timing(Long.parseLong(fields[2]), Long.parseLong(fields[3]))));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, e, () -> "case history " + file + " is ignored");
+            methods.clear();
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String caseName(Path caseFolder) {
+        return caseFolder.getFileName().toString();
+    }
+
+    private static long folderBytes(Path caseFolder) {
+        try (Stream<Path> files = Files.walk(caseFolder)) {
+            return files.filter(Files::isRegularFile).mapToLong(CaseHistory::size).sum();
+        } catch (IOException | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static final class Timing {
+        private final long nanos;
+        private final long bytes;
+
+        private Timing(long nanos, long bytes) {
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package dev.sirosh.case_folders;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Registered by {@link CaseFolderSource}, measures duration and outcome of a case and releases its resources
+ * when its invocation finishes.
+ */
+class CaseInvocationExtension implements ExecutionCondition, BeforeTestExecutionCallback, AfterTestExecutionCallback,
+        AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(CaseInvocationExtension.class);
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        CaseInvocations invocations = invocations(context);
+        int index = CaseInvocations.invocationIndex(context);
+        String skipReason = invocations != null && index > 0 ? invocations.skipReason(index) : null;
+        return skipReason != null
+                ? ConditionEvaluationResult.disabled(skipReason)
+                : ConditionEvaluationResult.enabled("case is provided by @CaseFolderSource");
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), System.nanoTime());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        ExtensionContext.Store store = context.getStore(NAMESPACE);
+        Long started = store.remove(context.getUniqueId(), Long.class);
+        if (started != null) {
+            store.put(context.getUniqueId(), System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * outcome is taken after {@code @AfterEach} methods, so case failing in them is not recorded as passed
+     */
+    @Override
+    public void afterEach(ExtensionContext context) throws Exception {
+        CaseInvocations invocations = invocations(context);
+        int index = CaseInvocations.invocationIndex(context);
+        if (invocations != null && index > 0) {
+            Long nanos = context.getStore(NAMESPACE).remove(context.getUniqueId(), Long.class);
+            invocations.executed(index, nanos, context.getExecutionException().isEmpty());
+            invocations.finish(index);
+        }
+    }
+
+    private static CaseInvocations invocations(ExtensionContext context) {
+        return context.getStore(CaseInvocations.NAMESPACE).get(CaseInvocations.class, CaseInvocations.class);
+    }
+}
@@ -0,0 +1,125 @@
+package dev.sirosh.case_folders;
+
+import dev.sirosh.case_folders.classpath_utils.CaseResources;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cases handed to invocations of one {@link CaseFolderSource} test method, by invocation index.
+ * Lets {@link CaseInvocationExtension} find what belongs to the invocation being finished.
+ */
+class CaseInvocations implements ExtensionContext.Store.CloseableResource {
+    static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(CaseInvocations.class);
+    private static final String INVOCATION_SEGMENT = "[test-template-invocation:#";
+
+    private final ResourceLeaks leaks;
+    private final AtomicInteger lastIndex = new AtomicInteger();
+    private final Map<Integer, CaseResources> resources = new ConcurrentHashMap<>();
+    private final Map<Integer, Path> caseFolders = new ConcurrentHashMap<>();
+    private final Map<Integer, String> skipped = new ConcurrentHashMap<>();
+    private volatile CaseHistory history;
+    private volatile CaseManifest manifest;
+    private volatile String methodKey;
+    private volatile String classHash;
+
+    private CaseInvocations(ResourceLeaks leaks) {
+        this.leaks = leaks;
+    }
+
+    static CaseInvocations getInstance(ExtensionContext context) {
+        ResourceLeaks leaks = ResourceLeaks.getInstance(context);
+        return context.getStore(NAMESPACE)
+                .getOrComputeIfAbsent(CaseInvocations.class, key -> new CaseInvocations(leaks), CaseInvocations.class);
+    }
+
+    /**
+     * durations of cases registered afterwards are recorded to history
+     */
+    void recordTo(CaseHistory history, String methodKey) {
+        this.methodKey = methodKey;
+        this.history = history;
+    }
+
+    /**
+     * outcomes of cases registered afterwards are recorded to manifest
+     */
+    void recordTo(CaseManifest manifest, String methodKey, String classHash) {
+        this.methodKey = methodKey;
+        this.classHash = classHash;
+        this.manifest = manifest;
+    }
+
+    /**
+     * must be called for each provided case in order, so index matches invocation index assigned by junit
+     */
+    int register(Path caseFolder, CaseResources caseResources) {
+        int index = lastIndex.incrementAndGet();
+        if (!caseResources.isEmpty()) {
+            resources.put(index, caseResources);
+        }
+        if (history != null || manifest != null) {
+            caseFolders.put(index, caseFolder);
+        }
+        return index;
+    }
+
+    /**
+     * registers invocation that is not run, must be called in order like {@link #register}
+     */
+    int skip(String reason) {
+        int index = lastIndex.incrementAndGet();
+        skipped.put(index, reason);
+        return index;
+    }
+
+    /**
+     * @return reason why invocation is not run, or null when it runs
+     */
+    String skipReason(int index) {
+        return skipped.get(index);
+    }
+
+    /**
+     * @param nanos duration of test method, or null when it didn't run
+     */
+    void executed(int index, Long nanos, boolean passed) {
+        Path caseFolder = caseFolders.remove(index);
+        if (caseFolder == null) {
+            return;
+        }
+        if (history != null && nanos != null) {
+            history.record(methodKey, caseFolder, nanos);
+        }
+        if (manifest != null) {
+            manifest.executed(methodKey, classHash, caseFolder, passed);
+        }
+    }
+
+    void finish(int index) throws Exception {
+        CaseResources caseResources = resources.remove(index);
+        if (caseResources != null) {
+            leaks.release(caseResources);
+        }
+    }
+
+    static int invocationIndex(ExtensionContext invocationContext) {
+        String uniqueId = invocationContext.getUniqueId();
+        int start = uniqueId.lastIndexOf(INVOCATION_SEGMENT);
+        if (start < 0) {
+            return -1;
+        }
+        start += INVOCATION_SEGMENT.length();
+        return Integer.parseInt(uniqueId.substring(start, uniqueId.indexOf(']', start)));
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Integer index : resources.keySet()) {
+            finish(index);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package dev.sirosh.case_folders;
+
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Cases declared as lines of one classpath file instead of folders: NDJSON ({@code .ndjson}, {@code .jsonl})
+ * or CSV with header ({@code .csv}), optionally compressed ({@code .gz}, {@code .deflate}).
+ * File is read line by line while tests run, every line is one invocation.
+ * Fields are bound to parameters by {@link CaseField} name.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ArgumentsSource(CaseLinesSourceArgumentsProvider.class)
+public @interface CaseLinesSource {
+  String file();
+
+  /**
+   * field used as name of invocation, empty for default junit names
+   */
+  String nameField() default "";
+}
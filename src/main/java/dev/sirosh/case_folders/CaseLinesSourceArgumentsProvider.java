@@ -0,0 +1,197 @@
+package dev.sirosh.case_folders;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import dev.sirosh.case_folders.classpath_utils.CompressedFiles;
+import dev.sirosh.case_folders.classpath_utils.DefaultPathProvider;
+import dev.sirosh.case_folders.classpath_utils.PathProvider;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+import org.junit.platform.commons.PreconditionViolationException;
+import org.junit.platform.commons.util.Preconditions;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Named.named;
+
+class CaseLinesSourceArgumentsProvider implements ArgumentsProvider, AnnotationConsumer<CaseLinesSource> {
+    private CaseLinesSource linesSource;
+    private final PathProvider pathProvider;
+
+    CaseLinesSourceArgumentsProvider() {
+        this(DefaultPathProvider.getInstance());
+    }
+
+    CaseLinesSourceArgumentsProvider(PathProvider pathProvider) {
+        this.pathProvider = pathProvider;
+    }
+
+    @Override
+    public void accept(CaseLinesSource linesSource) {
+        this.linesSource = linesSource;
+    }
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+        Parameter[] parameters = context.getRequiredTestMethod().getParameters();
+        String[] fields = fields(context.getRequiredTestMethod());
+        Path file = pathProvider.classpathFile(linesSource.file()).get(context);
+        String name = file.getFileName().toString();
+
+        BufferedReader reader = reader(file);
+        Stream<String> lines = reader.lines()
+                .filter(line -> !line.isBlank())
+                .onClose(() -> close(reader, file));
+        String nameField = linesSource.nameField();
+        Function<String, Arguments> binding;
+        if (name.endsWith(".csv")) {
+            List<String> header = parseCsv(readHeader(reader, file));
+            binding = line -> bindCsv(header, parseCsv(line), parameters, fields, nameField);
+        } else if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            binding = line -> bindJson(JsonArgumentConverter.readTree(line), parameters, fields, nameField);
+        } else {
+            close(reader, file);
+            throw new PreconditionViolationException("Case lines file [" + linesSource.file()
+                    + "] must be .ndjson, .jsonl or .csv");
+        }
+        return lines.map(binding);
+    }
+
+    private static String[] fields(Method method) {
+        Parameter[] parameters = method.getParameters();
+        String[] fields = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            CaseField field = parameters[i].getAnnotation(CaseField.class);
+            if (field != null) {
+                fields[i] = field.value();
+            } else {
+                Preconditions.condition(parameters[i].isNamePresent(), "No @CaseField annotation found on parameter " + i
+                        + ", add it or compile tests with -parameters");
+                fields[i] = parameters[i].getName();
+            }
+        }
+        return fields;
+    }
+
+    private static Arguments bindJson(JsonNode line, Parameter[] parameters, String[] fields, String nameField) {
+        Object[] arguments = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            JsonNode value = line.get(fields[i]);
+            if (value == null || value.isNull()) {
+                continue;
+            }
+            if (parameters[i].isAnnotationPresent(JsonArgument.class)) {
+                arguments[i] = value.isTextual() ? value.asText() : value.toString();
+            } else if (value.isTextual() && parameters[i].getType().equals(String.class)) {
+                arguments[i] = value.asText();
+            } else {
+                arguments[i] = JsonArgumentConverter.treeToValue(value, parameters[i].getParameterizedType());
+            }
+        }
+        JsonNode name = nameField.isEmpty() ? null : line.get(nameField);
+        return arguments(arguments, name == null ? null : name.asText());
+    }
+
+    /**
+     * values stay strings, junit converts them to parameter types (and {@link JsonArgument} parses them)
+     */
+    private static Arguments bindCsv(List<String> header, List<String> values, Parameter[] parameters, String[] fields,
+                                     String nameField) {
+        Map<String, String> line = new HashMap<>();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            line.put(header.get(i), values.get(i));
+        }
+        Object[] arguments = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            arguments[i] = line.get(fields[i]);
+        }
+        return arguments(arguments, nameField.isEmpty() ? null : line.get(nameField));
+    }
+
+    private static Arguments arguments(Object[] arguments, String name) {
+        if (name == null) {
+            return Arguments.of(arguments);
+        }
+        if (arguments.length == 0) {
+            return Arguments.of(named(name, null));
+        }
+        arguments[0] = named(name, arguments[0]);
+        return Arguments.of(arguments);
+    }
+
+    /**
+     * RFC 4180 line: comma separated, fields with commas or quotes are quoted, quotes inside are doubled
+     */
+    static List<String> parseCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private static BufferedReader reader(Path file) {
+        try {
+            return new BufferedReader(new InputStreamReader(CompressedFiles.newInputStream(file), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("I/O error while reading " + file, e);
+        }
+    }
+
+    private static String readHeader(BufferedReader reader, Path file) {
+        String header;
+        try {
+            header = reader.readLine();
+        } catch (IOException e) {
+            close(reader, file);
+            throw new UncheckedIOException("I/O error while reading " + file, e);
+        }
+        if (header == null) {
+            close(reader, file);
+            throw new PreconditionViolationException("Case lines file " + file + " must start with header");
+        }
+        return header;
+    }
+
+    private static void close(BufferedReader reader, Path file) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("I/O error while closing " + file, e);
+        }
+    }
+}
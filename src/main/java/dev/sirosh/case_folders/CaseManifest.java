@@ -0,0 +1,271 @@
+package dev.sirosh.case_folders;
+
+import dev.sirosh.case_folders.classpath_utils.CompressedFiles;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Content hashes of case folders and cases that passed with them, kept in a local file between runs.
+ * Case is unchanged when it passed last time with the same content hash of its folder, the same bytecode of
+ * test class and the same files shared by all cases ({@code @CaseFile(absolute = true)}).
+ * Folders and files are hashed again only when names, sizes or modification times of their files change.
+ */
+class CaseManifest implements ExtensionContext.Store.CloseableResource {
+    private static final Logger LOGGER = Logger.getLogger(CaseManifest.class.getName());
+    private static final String FINGERPRINT = "F";
+    private static final String PASSED = "P";
+
+    private final Path file;
+    private final ConcurrentMap<String, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, Passed>> methods = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, String> classHashes = new ConcurrentHashMap<>();
+
+    CaseManifest(Path file) {
+        this.file = file;
+        load();
+    }
+
+    /**
+     * @return hash of bytecode of test class and its superclasses, or null when bytecode can't be read
+     */
+    String classHash(Class<?> testClass) {
+        return classHashes.computeIfAbsent(testClass, CaseManifest::hashClass);
+    }
+
+    /**
+     * @param sharedFiles files bound to every case of test method
+     * @return hash of test class and contents of shared files, used in place of class hash,
+     * or null when any of them can't be read
+     */
+    String methodHash(String classHash, List<Path> sharedFiles) {
+        if (classHash == null) {
+            return null;
+        }
+        MessageDigest digest = digest();
+        digest.update(classHash.getBytes(StandardCharsets.UTF_8));
+        for (Path file : sharedFiles) {
+            String contentHash = contentHash(CompressedFiles.locate(file));
+            if (contentHash == null) {
+                return null;
+            }
+            digest.update((byte) 0);
+            digest.update(key(file).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(contentHash.getBytes(StandardCharsets.UTF_8));
+        }
+        return hex(digest.digest());
+    }
+
+    /**
+     * @return case folders changed since they last passed, hashed in parallel
+     */
+    List<Path> changed(String methodKey, String classHash, List<Path> caseFolders) {
+        List<Path> changed = caseFolders.parallelStream()
+                .filter(caseFolder -> !unchanged(methodKey, classHash, caseFolder))
+                .collect(Collectors.toList());
+        LOGGER.info(() -> (caseFolders.size() - changed.size()) + " of " + caseFolders.size()
+                + " cases of " + methodKey + " are unchanged since they passed and skipped");
+        return changed;
+    }
+
+    boolean unchanged(String methodKey, String classHash, Path caseFolder) {
+        Passed passed = methods.getOrDefault(methodKey, new ConcurrentHashMap<>()).get(key(caseFolder));
+        if (passed == null || classHash == null || !classHash.equals(passed.classHash)) {
+            return false;
+        }
+        String contentHash = contentHash(caseFolder);
+        return contentHash != null && contentHash.equals(passed.contentHash);
+    }
+
+    void executed(String methodKey, String classHash, Path caseFolder, boolean passed) {
+        ConcurrentMap<String, Passed> cases = methods.computeIfAbsent(methodKey, key -> new ConcurrentHashMap<>());
+        String contentHash = passed && classHash != null ? contentHash(caseFolder) : null;
+        if (contentHash != null) {
+            cases.put(key(caseFolder), new Passed(classHash, contentHash));
+        } else {
+            cases.remove(key(caseFolder));
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
+                for (Map.Entry<String, Fingerprint> fingerprint : fingerprints.entrySet()) {
+                    writer.write(FINGERPRINT + '\t' + fingerprint.getKey() + '\t'
+                            + fingerprint.getValue().stamp + '\t' + fingerprint.getValue().hash);
+                    writer.newLine();
+                }
+                for (Map.Entry<String, ConcurrentMap<String, Passed>> method : methods.entrySet()) {
+                    for (Map.Entry<String, Passed> passed : method.getValue().entrySet()) {
+                        writer.write(PASSED + '\t' + method.getKey() + '\t' + passed.getKey() + '\t'
+                                + passed.getValue().classHash + '\t' + passed.getValue().contentHash);
+                        writer.newLine();
+                    }
+                }
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, e, () -> "case manifest is not saved to " + file);
+        }
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try (Stream<String> lines = Files.lines(file)) {
+            lines.map(line -> line.split("\t")).forEach(fields -> {
+                if (fields.length == 4 && FINGERPRINT.equals(fields[0])) {
+                    fingerprints.put(fields[1], new Fingerprint(Long.parseLong(fields[2]), fields[3]));
+                } else if (fields.length == 5 && PASSED.equals(fields[0])) {
+                    methods.computeIfAbsent(fields[1], key -> new ConcurrentHashMap<>())
+                            .put(fields[2], new Passed(fields[3], fields[4]));
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, e, () -> "case manifest " + file + " is ignored");
+            fingerprints.clear();
+            methods.clear();
+        }
+    }
+
+    /**
+     * @return hash of names and contents of files of case folder (or of single file), or null when it can't be read
+     */
+    private String contentHash(Path caseFolder) {
+        String key = key(caseFolder);
+        try {
+            List<Path> files = files(caseFolder);
+            long stamp = stamp(caseFolder, files);
+            Fingerprint fingerprint = fingerprints.get(key);
+            if (fingerprint != null && fingerprint.stamp == stamp) {
+                return fingerprint.hash;
+            }
+            MessageDigest digest = digest();
+            for (Path file : files) {
+                digest.update(relativeName(caseFolder, file).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                update(digest, file);
+            }
+            String hash = hex(digest.digest());
+            fingerprints.put(key, new Fingerprint(stamp, hash));
+            return hash;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static List<Path> files(Path caseFolder) throws IOException {
+        try (Stream<Path> files = Files.walk(caseFolder)) {
+            return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static long stamp(Path caseFolder, List<Path> files) throws IOException {
+        long stamp = files.size();
+        for (Path file : files) {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            stamp = 31 * stamp + relativeName(caseFolder, file).hashCode();
+            stamp = 31 * stamp + attributes.size();
+            stamp = 31 * stamp + attributes.lastModifiedTime().toMillis();
+        }
+        return stamp;
+    }
+
+    private static String hashClass(Class<?> testClass) {
+        MessageDigest digest = digest();
+        for (Class<?> type = testClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            String resource = type.getName().replace('.', '/') + ".class";
+            ClassLoader classLoader = type.getClassLoader();
+            try (InputStream in = classLoader == null ? null : classLoader.getResourceAsStream(resource)) {
+                if (in == null) {
+                    return null;
+                }
+                digest.update(in.readAllBytes());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        return hex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, Path file) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int read; (read = in.read(buffer)) > 0; ) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static String relativeName(Path caseFolder, Path file) {
+        return caseFolder.relativize(file).toString().replace('\\', '/');
+    }
+
+    private static String key(Path caseFolder) {
+        return caseFolder.toAbsolutePath().normalize().toString();
+    }
+
+    private static final class Fingerprint {
+        private final long stamp;
+        private final String hash;
+
+        private Fingerprint(long stamp, String hash) {
+            this.stamp = stamp;
+            this.hash = hash;
+        }
+    }
+
+    private static final class Passed {
+        private final String classHash;
+        private final String contentHash;
+
+        private Passed(String classHash, String contentHash) {
+            this.classHash = classHash;
+            this.contentHash = contentHash;
+        }
+    }
+}
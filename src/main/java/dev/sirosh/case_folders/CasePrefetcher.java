@@ -0,0 +1,128 @@
+package dev.sirosh.case_folders;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Binds next cases on background I/O threads while current case runs. At most {@code window} cases are bound
+ * ahead, and cases are handed out in discovery order.
+ */
+class CasePrefetcher implements Iterator<BoundCase> {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(CasePrefetcher.class);
+
+    private final Iterator<Path> caseFolders;
+    private final ParameterBindingPlan plan;
+    private final int window;
+    private final ExecutorService executor;
+    private final Deque<CompletableFuture<BoundCase>> pending = new ArrayDeque<>();
+
+    private CasePrefetcher(Iterator<Path> caseFolders, ParameterBindingPlan plan, int window, ExecutorService executor) {
+        this.caseFolders = caseFolders;
+        this.plan = plan;
+        this.window = window;
+        this.executor = executor;
+    }
+
+    static Stream<BoundCase> prefetch(Stream<Path> caseFolders, ParameterBindingPlan plan, int window,
+                                      ExtensionContext context) {
+        CasePrefetcher prefetcher = new CasePrefetcher(caseFolders.iterator(), plan, window, executor(context));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(prefetcher, Spliterator.ORDERED), false)
+                .onClose(prefetcher::cancel)
+                .onClose(caseFolders::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        fill();
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public BoundCase next() {
+        fill();
+        CompletableFuture<BoundCase> next = pending.poll();
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        fill();
+        try {
+            return next.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for case files", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Failed to read case files", cause);
+        }
+    }
+
+    private void fill() {
+        while (pending.size() < window && caseFolders.hasNext()) {
+            Path caseFolder = caseFolders.next();
+            pending.add(CompletableFuture.supplyAsync(() -> BoundCase.bind(plan, caseFolder), executor));
+        }
+    }
+
+    /**
+     * cases bound ahead but never handed out release their resources as soon as binding completes
+     */
+    private void cancel() {
+        for (CompletableFuture<BoundCase> future = pending.poll(); future != null; future = pending.poll()) {
+            future.thenAccept(BoundCase::discard);
+        }
+    }
+
+    private static ExecutorService executor(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(Executor.class, key -> new Executor(), Executor.class)
+                .executorService;
+    }
+
+    /**
+     * virtual threads when running on jdk 21+, otherwise a small pool of daemon threads
+     */
+    private static final class Executor implements ExtensionContext.Store.CloseableResource {
+        private final ExecutorService executorService = newExecutorService();
+
+        private static ExecutorService newExecutorService() {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                AtomicInteger threads = new AtomicInteger();
+                ThreadFactory threadFactory = runnable -> {
+                    Thread thread = new Thread(runnable, "case-folders-prefetch-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                };
+                int size = Math.max(2, Runtime.getRuntime().availableProcessors());
+                return Executors.newFixedThreadPool(size, threadFactory);
+            }
+        }
+
+        @Override
+        public void close() {
+            executorService.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package dev.sirosh.case_folders;
+
+import org.junit.platform.commons.util.Preconditions;
+
+import java.nio.file.Path;
+
+/**
+ * Part of cases run by one of several nodes. Case belongs to shard by hash of its folder name,
+ * {@link String#hashCode()} is specified by the language, so every node agrees on assignment
+ * and a case keeps its shard when other cases are added or removed.
+ */
+class CaseShard {
+    private final int index;
+    private final int count;
+
+    CaseShard(int index, int count) {
+        Preconditions.condition(count > 0, "Shard count must be positive but was: " + count);
+        Preconditions.condition(index >= 0 && index < count,
+                "Shard index must be in [0, " + count + ") but was: " + index);
+        this.index = index;
+        this.count = count;
+    }
+
+    boolean contains(Path caseFolder) {
+        return Math.floorMod(caseFolder.getFileName().toString().hashCode(), count) == index;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    int getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,123 @@
+package dev.sirosh.case_folders;
+
+import dev.sirosh.case_folders.classpath_utils.CompressedFiles;
+import org.opentest4j.AssertionFailedError;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Assertions of output against expected file ({@code @CaseFile Path expected}) in fixed-size chunks,
+ * so outputs of any size are compared in constant memory. Comparison stops on the first differing byte,
+ * failure reports its offset, line and column with a few bytes of context instead of whole contents.
+ * Compressed expected files ({@code .gz}, {@code .deflate}) are decompressed while comparing.
+ */
+public class GoldenFiles {
+    static final int CHUNK = 64 * 1024;
+    static final int CONTEXT = 40;
+
+    private GoldenFiles() {
+    }
+
+    public static void assertMatches(Path expected, Path actual) {
+        try (InputStream actualStream = CompressedFiles.newDecompressingInputStream(actual)) {
+            assertMatches(expected, actualStream, actual.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("I/O error while reading " + actual, e);
+        }
+    }
+
+    /**
+     * actual stream is read to its end or to the first mismatch, but not closed
+     */
+    public static void assertMatches(Path expected, InputStream actual) {
+        assertMatches(expected, actual, "actual output");
+    }
+
+    private static void assertMatches(Path expected, InputStream actual, String actualName) {
+        try (InputStream expectedStream = CompressedFiles.newDecompressingInputStream(expected)) {
+            compare(expected, expectedStream, actual, actualName);
+        } catch (IOException e) {
+            throw new UncheckedIOException("I/O error while comparing " + actualName + " with " + expected, e);
+        }
+    }
+
+    private static void compare(Path expectedPath, InputStream expected, InputStream actual, String actualName)
+            throws IOException {
+        byte[] expectedChunk = new byte[CHUNK];
+        byte[] actualChunk = new byte[CHUNK];
+        byte[] previous = new byte[0];
+        long offset = 0;
+        long line = 1;
+        long column = 1;
+        while (true) {
+            int expectedLength = expected.readNBytes(expectedChunk, 0, CHUNK);
+            int actualLength = actual.readNBytes(actualChunk, 0, CHUNK);
+            int mismatch = Arrays.mismatch(expectedChunk, 0, expectedLength, actualChunk, 0, actualLength);
+            int matched = mismatch < 0 ? expectedLength : mismatch;
+            for (int i = 0; i < matched; i++) {
+                if (expectedChunk[i] == '\n') {
+                    line++;
+                    column = 1;
+                } else {
+                    column++;
+                }
+            }
+            if (mismatch >= 0) {
+                String before = before(previous, expectedChunk, mismatch);
+                String expectedAfter = after(expectedChunk, mismatch, expectedLength, expected);
+                String actualAfter = after(actualChunk, mismatch, actualLength, actual);
+                throw new AssertionFailedError(actualName + " differs from " + expectedPath
+                        + " at byte " + (offset + mismatch) + " (line " + line + ", column " + column + ")"
+                        + System.lineSeparator() + "expected: " + quote(before, expectedAfter)
+                        + System.lineSeparator() + "actual:   " + quote(before, actualAfter),
+                        before + expectedAfter, before + actualAfter);
+            }
+            if (expectedLength < CHUNK) {
+                return;
+            }
+            offset += expectedLength;
+            previous = Arrays.copyOfRange(expectedChunk, CHUNK - CONTEXT, CHUNK);
+        }
+    }
+
+    /**
+     * matched bytes preceding mismatch, taken from the end of previous chunk when mismatch is close to chunk start
+     */
+    private static String before(byte[] previous, byte[] chunk, int mismatch) {
+        int fromChunk = Math.min(mismatch, CONTEXT);
+        int fromPrevious = Math.min(previous.length, CONTEXT - fromChunk);
+        byte[] context = new byte[fromPrevious + fromChunk];
+        System.arraycopy(previous, previous.length - fromPrevious, context, 0, fromPrevious);
+        System.arraycopy(chunk, mismatch - fromChunk, context, fromPrevious, fromChunk);
+        return new String(context, StandardCharsets.UTF_8);
+    }
+
+    private static String after(byte[] chunk, int mismatch, int length, InputStream rest) throws IOException {
+        if (mismatch >= length) {
+            return "<end>";
+        }
+        int fromChunk = Math.min(length - mismatch, CONTEXT);
+        byte[] context = Arrays.copyOfRange(chunk, mismatch, mismatch + fromChunk);
+        if (fromChunk < CONTEXT && length == CHUNK) {
+            byte[] more = rest.readNBytes(CONTEXT - fromChunk);
+            byte[] joined = Arrays.copyOf(context, fromChunk + more.length);
+            System.arraycopy(more, 0, joined, fromChunk, more.length);
+            context = joined;
+        }
+        return new String(context, StandardCharsets.UTF_8);
+    }
+
+    private static String quote(String before, String after) {
+        return "\"" + escape(before) + "[>]" + escape(after) + "\"";
+    }
+
+    private static String escape(String context) {
+        return context.replace("\r", "\\r").replace("\n", "\\n").replace("\t", "\\t");
+    }
+}
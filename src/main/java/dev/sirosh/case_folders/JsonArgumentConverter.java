@@ -1,35 +1,26 @@
 package dev.sirosh.case_folders;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.JavaType;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.util.StdDateFormat;
-import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import dev.sirosh.case_folders.classpath_utils.CompressedFiles;
+import dev.sirosh.case_folders.classpath_utils.FileConverter;
+import dev.sirosh.case_folders.jfr.JsonConversionEvent;
 import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.params.converter.ArgumentConversionException;
 import org.junit.jupiter.params.converter.ArgumentConverter;
 import org.junit.jupiter.params.support.AnnotationConsumer;
 import org.junit.platform.commons.util.Preconditions;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 
 import static java.util.Objects.isNull;
 
 public class JsonArgumentConverter implements ArgumentConverter, AnnotationConsumer<JsonArgument> {
-    private static final ObjectMapper OBJECT_MAPPER = objectMapper();
-
-    private static ObjectMapper objectMapper() {
-        return new ObjectMapper()
-                .registerModule(new ParameterNamesModule())
-                .registerModule(new Jdk8Module())
-                .registerModule(new JavaTimeModule())
-                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-                .setDateFormat(new StdDateFormat());
-    }
 
     public final void accept(JsonArgument annotation) {
         Preconditions.notNull(annotation, "annotation must not be null");
@@ -38,20 +29,145 @@ public class JsonArgumentConverter implements ArgumentConverter, AnnotationConsu
     public final Object convert(Object source, ParameterContext context) throws ArgumentConversionException {
         Type type = context.getParameter().getParameterizedType();
         if (isNull(source)) {
-            if (((Class<?>) type).isPrimitive()) {
+            if (type instanceof Class && ((Class<?>) type).isPrimitive()) {
                 throw new ArgumentConversionException(
                         "Cannot convert null to primitive value of type " + type.getTypeName());
             }
             return null;
         }
+        if (source instanceof Path) {
+            return readValue((Path) source, type);
+        }
+        if (source instanceof BundleFile) {
+            BundleFile file = (BundleFile) source;
+            return readValue(file, type);
+        }
         if (!(source instanceof String)) {
             throw new ArgumentConversionException("The argument should be a string: " + source);
         }
+        JsonConversionEvent event = new JsonConversionEvent();
+        event.begin();
         try {
-            JavaType javaType = OBJECT_MAPPER.getTypeFactory().constructType(type);
-            return OBJECT_MAPPER.readValue((String) source, javaType);
+            Object value = JsonFormat.JSON.reader(type).readValue((String) source);
+            if (event.shouldCommit()) {
+                event.path = "";
+                event.bytes = FileConverter.utf8Length((String) source);
+                event.targetType = type.getTypeName();
+                event.commit();
+            }
+            return value;
         } catch (Exception e) {
             throw new ArgumentConversionException("Failed to convert String \"" + source + "\" to type " + type.getTypeName(), e);
         }
     }
+
+    /**
+     * parses file bytes directly, without decoding whole file to {@link String} first,
+     * {@code .smile} and {@code .cbor} files are parsed as binary formats
+     */
+    static Object readValue(Path path, Type type) throws ArgumentConversionException {
+        JsonConversionEvent event = new JsonConversionEvent();
+        event.begin();
+        try (CountingInputStream inputStream = new CountingInputStream(CompressedFiles.newInputStream(path))) {
+            Object value = JsonFormat.of(path).reader(type).readValue(inputStream);
+            if (event.shouldCommit()) {
+                event.path = CompressedFiles.locate(path).toString();
+                event.bytes = inputStream.count;
+                event.targetType = type.getTypeName();
+                event.commit();
+            }
+            return value;
+        } catch (Exception e) {
+            throw new ArgumentConversionException("Failed to convert file " + path + " to type " + type.getTypeName(), e);
+        }
+    }
+
+    /**
+     * parses line of NDJSON case file
+     */
+    static JsonNode readTree(String line) throws ArgumentConversionException {
+        try {
+            return JsonFormat.JSON.mapper().readTree(line);
+        } catch (Exception e) {
+            throw new ArgumentConversionException("Failed to parse JSON line \"" + line + "\"", e);
+        }
+    }
+
+    static Object treeToValue(JsonNode node, Type type) throws ArgumentConversionException {
+        try {
+            return JsonFormat.JSON.reader(type).readValue(node);
+        } catch (Exception e) {
+            throw new ArgumentConversionException("Failed to convert " + node + " to type " + type.getTypeName(), e);
+        }
+    }
+
+    /**
+     * parses file of case bundle straight from its mapping
+     */
+    static Object readValue(BundleFile file, Type type) throws ArgumentConversionException {
+        JsonConversionEvent event = new JsonConversionEvent();
+        event.begin();
+        ByteBuffer buffer = file.content.duplicate();
+        try (InputStream inputStream = new ByteBufferBackedInputStream(buffer)) {
+            Object value = JsonFormat.of(file.path).reader(type).readValue(inputStream);
+            if (event.shouldCommit()) {
+                event.path = file.path.toString();
+                event.bytes = file.content.remaining() - buffer.remaining();
+                event.targetType = type.getTypeName();
+                event.commit();
+            }
+            return value;
+        } catch (Exception e) {
+            throw new ArgumentConversionException("Failed to convert case bundle file " + file.path + " to type " + type.getTypeName(), e);
+        }
+    }
+
+    /**
+     * file of case bundle, its name picks {@link JsonFormat}
+     */
+    static final class BundleFile {
+        private final Path path;
+        private final ByteBuffer content;
+
+        BundleFile(Path path, ByteBuffer content) {
+            this.path = path;
+            this.content = content;
+        }
+    }
+
+    /**
+     * counts bytes parser pulled, decompressed ones for compressed variant of missing file
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package dev.sirosh.case_folders;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Converts {@code .json} fixtures to binary Smile or CBOR form next to them, token by token without building trees:
+ * {@code JsonFixtures <folder> <smile|cbor>}. Point {@code @CaseFile} to converted file to parse it with
+ * {@link JsonArgument}, original files are kept.
+ */
+public class JsonFixtures {
+    private static final String JSON = ".json";
+
+    private JsonFixtures() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: JsonFixtures <folder> <smile|cbor>");
+            System.exit(2);
+        }
+        Path folder = Path.of(args[0]);
+        List<Path> converted = convertAll(folder, args[1]);
+        System.out.println("Converted " + converted.size() + " files in " + folder + " to " + args[1]);
+    }
+
+    /**
+     * @param format {@code smile} or {@code cbor}, json is rejected as its files would overwrite the fixtures
+     * @return written files
+     */
+    public static List<Path> convertAll(Path folder, String format) throws IOException {
+        JsonFormat target = JsonFormat.ofExtension(format);
+        if (target == JsonFormat.JSON) {
+            throw new IllegalArgumentException("Fixtures are json already, convert them to smile or cbor");
+        }
+        List<Path> jsonFiles;
+        try (Stream<Path> files = Files.walk(folder)) {
+            jsonFiles = files.filter(path -> path.getFileName().toString().endsWith(JSON))
+                    .filter(Files::isRegularFile)
+                    .collect(Collectors.toList());
+        }
+        List<Path> converted = new ArrayList<>();
+        for (Path json : jsonFiles) {
+            String name = json.getFileName().toString();
+            Path binary = json.resolveSibling(name.substring(0, name.length() - JSON.length()) + "." + target.extension());
+            convert(json, binary, target);
+            converted.add(binary);
+        }
+        return converted;
+    }
+
+    /**
+     * copies json file to format of target file extension
+     */
+    public static void convert(Path json, Path target) throws IOException {
+        convert(json, target, JsonFormat.of(target));
+    }
+
+    private static void convert(Path json, Path target, JsonFormat format) throws IOException {
+        // opening target for writing would empty the source before it is read
+        if (Files.exists(target) && Files.isSameFile(json, target)) {
+            throw new IllegalArgumentException("Can't convert " + json + " onto itself");
+        }
+        try (InputStream in = Files.newInputStream(json);
+             OutputStream out = Files.newOutputStream(target);
+             JsonParser parser = JsonFormat.JSON.mapper().createParser(in);
+             JsonGenerator generator = format.mapper().createGenerator(out)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+    }
+}
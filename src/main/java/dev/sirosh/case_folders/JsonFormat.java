@@ -0,0 +1,123 @@
+package dev.sirosh.case_folders;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.StdDateFormat;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.junit.platform.commons.PreconditionViolationException;
+
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Formats of {@link JsonArgument} files picked by file extension.
+ * Mappers share one configuration, so fixtures converted to binary form bind to the same types.
+ * Smile and CBOR dataformats are optional dependencies, their factories are loaded on first binary file.
+ */
+enum JsonFormat {
+    JSON("json", JsonFactory.class.getName(), "com.fasterxml.jackson.core:jackson-core"),
+    SMILE("smile", "com.fasterxml.jackson.dataformat.smile.SmileFactory",
+            "com.fasterxml.jackson.dataformat:jackson-dataformat-smile"),
+    CBOR("cbor", "com.fasterxml.jackson.dataformat.cbor.CBORFactory",
+            "com.fasterxml.jackson.dataformat:jackson-dataformat-cbor");
+
+    private final String extension;
+    private final String factoryClass;
+    private final String artifact;
+    // created on first use, configured once and only used to create immutable readers, so shared between threads
+    private volatile ObjectMapper mapper;
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    JsonFormat(String extension, String factoryClass, String artifact) {
+        this.extension = extension;
+        this.factoryClass = factoryClass;
+        this.artifact = artifact;
+    }
+
+    /**
+     * @param path file as named by test, its compressed variant is read in the same format
+     * @return format of file, {@link #JSON} for any extension but {@code .smile} and {@code .cbor}
+     */
+    static JsonFormat of(Path path) {
+        String name = path.getFileName().toString();
+        for (JsonFormat format : values()) {
+            if (name.endsWith("." + format.extension)) {
+                return format;
+            }
+        }
+        return JSON;
+    }
+
+    static JsonFormat ofExtension(String extension) {
+        for (JsonFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown format " + extension + ", expected json, smile or cbor");
+    }
+
+    String extension() {
+        return extension;
+    }
+
+    /**
+     * @throws PreconditionViolationException when dataformat of binary format isn't on test classpath
+     */
+    ObjectMapper mapper() {
+        ObjectMapper mapper = this.mapper;
+        if (mapper == null) {
+            synchronized (this) {
+                mapper = this.mapper;
+                if (mapper == null) {
+                    mapper = configure(new ObjectMapper(factory()));
+                    this.mapper = mapper;
+                }
+            }
+        }
+        return mapper;
+    }
+
+    private JsonFactory factory() {
+        try {
+            return Class.forName(factoryClass, true, JsonFormat.class.getClassLoader())
+                    .asSubclass(JsonFactory.class)
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new PreconditionViolationException("Reading ." + extension + " files requires " + artifact
+                    + " on test classpath", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create " + factoryClass, e);
+        }
+    }
+
+    /**
+     * readers are immutable and built once per parameter type, including generic, array and wildcard types
+     */
+    ObjectReader reader(Type type) {
+        return readers.computeIfAbsent(type, key -> {
+            ObjectMapper mapper = mapper();
+            JavaType javaType = mapper.getTypeFactory().constructType(key);
+            return mapper.readerFor(javaType);
+        });
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        return mapper
+                .registerModule(new ParameterNamesModule())
+                .registerModule(new Jdk8Module())
+                .registerModule(new JavaTimeModule())
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .setDateFormat(new StdDateFormat());
+    }
+}
@@ -0,0 +1,140 @@
+package dev.sirosh.case_folders;
+
+import dev.sirosh.case_folders.classpath_utils.CaseBundle;
+import dev.sirosh.case_folders.classpath_utils.CaseResources;
+import dev.sirosh.case_folders.classpath_utils.ConverterSettings;
+import dev.sirosh.case_folders.classpath_utils.PathConverter;
+import dev.sirosh.case_folders.classpath_utils.PathProvider;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.PreconditionViolationException;
+import org.junit.platform.commons.util.Preconditions;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static dev.sirosh.case_folders.classpath_utils.FileConverter.bundleConverter;
+import static dev.sirosh.case_folders.classpath_utils.FileConverter.fileConverter;
+import static dev.sirosh.case_folders.classpath_utils.FileConverter.folderConverter;
+import static dev.sirosh.case_folders.classpath_utils.FileConverter.isLazy;
+import static java.util.Objects.nonNull;
+
+/**
+ * Parameters of {@link CaseFolderSource} test method resolved once: annotations are read, conflicts checked,
+ * converters picked and absolute files located before first case, so each case only reads and converts files.
+ */
+class ParameterBindingPlan {
+    private final Slot[] slots;
+    private final List<Path> absoluteFiles;
+
+    private ParameterBindingPlan(Slot[] slots, List<Path> absoluteFiles) {
+        this.slots = slots;
+        this.absoluteFiles = absoluteFiles;
+    }
+
+    static ParameterBindingPlan compile(Method method, PathProvider pathProvider, ExtensionContext context) {
+        return compile(method, pathProvider, context, null);
+    }
+
+    /**
+     * @param bundle bundle containing cases, or null when cases are folders
+     */
+    static ParameterBindingPlan compile(Method method, PathProvider pathProvider, ExtensionContext context,
+                                        CaseBundle bundle) {
+        Parameter[] parameters = method.getParameters();
+        Slot[] slots = new Slot[parameters.length];
+        List<Path> absoluteFiles = new ArrayList<>();
+        ConverterSettings settings = CaseFolderConfiguration.converterSettings(context);
+        for (int i = 0; i < parameters.length; i++) {
+            slots[i] = slot(parameters[i], i, settings, bundle, pathProvider, context, absoluteFiles);
+        }
+        return new ParameterBindingPlan(slots, Collections.unmodifiableList(absoluteFiles));
+    }
+
+    int size() {
+        return slots.length;
+    }
+
+    /**
+     * @return files bound to every case, {@code @CaseFile(absolute = true)}
+     */
+    List<Path> absoluteFiles() {
+        return absoluteFiles;
+    }
+
+    Object[] bind(Path caseFolder, CaseResources resources) {
+        Object[] arguments = new Object[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            arguments[i] = slots[i].bind(caseFolder, resources);
+        }
+        return arguments;
+    }
+
+    private static Slot slot(Parameter parameter, int index, ConverterSettings settings, CaseBundle bundle,
+                             PathProvider pathProvider, ExtensionContext context, List<Path> absoluteFiles) {
+        CaseFile annotation = parameter.getAnnotation(CaseFile.class);
+        boolean folder = nonNull(parameter.getAnnotation(CaseFolder.class));
+        if (nonNull(annotation) && folder) {
+            throw new PreconditionViolationException("Parameter " + parameter.getName()
+                    + " has conflicting annotations @CaseFolder and @CaseFile, use only one per field");
+        }
+        if (folder) {
+            PathConverter converter = folderConverter(parameter);
+            return converter::convert;
+        }
+        Preconditions.condition(nonNull(annotation), "No @CaseFile annotation found on parameter " + index);
+        if (jsonArgument(parameter) && isLazy(parameter)) {
+            throw new PreconditionViolationException("@JsonArgument parameter " + parameter.getName()
+                    + " can't be Supplier, declare parsed type itself or Supplier<String> without @JsonArgument");
+        }
+
+        String fileStr = annotation.file();
+        if (annotation.absolute()) {
+            PathConverter converter = jsonArgument(parameter)
+                    ? (path, resources) -> path
+                    : fileConverter(parameter, settings);
+            Path path = pathProvider.classpathFile(fileStr).get(context);
+            assertIsFile(path);
+            absoluteFiles.add(path);
+            return (caseFolder, resources) -> converter.convert(path, resources);
+        }
+        if (nonNull(bundle)) {
+            PathConverter converter = jsonArgument(parameter)
+                    ? (path, resources) -> new JsonArgumentConverter.BundleFile(path, bundle.file(path))
+                    : bundleConverter(parameter, bundle);
+            return (caseFolder, resources) -> converter.convert(caseFolder.resolve(fileStr), resources);
+        }
+        PathConverter converter = jsonArgument(parameter)
+                ? (path, resources) -> path
+                : fileConverter(parameter, settings);
+        if (isLazy(parameter)) {
+            return (caseFolder, resources) -> converter.convert(caseFolder.resolve(fileStr), resources);
+        }
+        // path stays as named, converters read compressed variant of missing file themselves
+        return (caseFolder, resources) -> {
+            Path path = caseFolder.resolve(fileStr);
+            assertIsFile(path);
+            return converter.convert(path, resources);
+        };
+    }
+
+    /**
+     * {@link JsonArgumentConverter} gets file path (or slice of case bundle) and parses file itself
+     */
+    private static boolean jsonArgument(Parameter parameter) {
+        return parameter.isAnnotationPresent(JsonArgument.class);
+    }
+
+    private static void assertIsFile(Path path) {
+        Preconditions.condition(!Files.isDirectory(path), "File " + path + " should be file");
+    }
+
+    @FunctionalInterface
+    private interface Slot {
+        Object bind(Path caseFolder, CaseResources resources);
+    }
+}
@@ -0,0 +1,67 @@
+package dev.sirosh.case_folders;
+
+import dev.sirosh.case_folders.classpath_utils.CaseResources;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Count of streams and channels left open by tests of the run, they are closed when their invocation finishes.
+ * Kept in the root {@link ExtensionContext.Store}, reported at the end of the run.
+ */
+class ResourceLeaks implements ExtensionContext.Store.CloseableResource {
+    private static final Logger LOGGER = Logger.getLogger(ResourceLeaks.class.getName());
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ResourceLeaks.class);
+
+    private final AtomicLong leaked = new AtomicLong();
+
+    static ResourceLeaks getInstance(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(ResourceLeaks.class, key -> new ResourceLeaks(), ResourceLeaks.class);
+    }
+
+    /**
+     * closes resources and counts what test left open, releasing them again counts nothing
+     */
+    void release(CaseResources resources) throws Exception {
+        int before = resources.leaked();
+        try {
+            resources.close();
+        } finally {
+            leaked.addAndGet(resources.leaked() - before);
+        }
+    }
+
+    /**
+     * @return new resources kept in store under key, released and counted when store closes
+     */
+    CaseResources resources(ExtensionContext.Store store, Object key) {
+        return store.getOrComputeIfAbsent(key, k -> new Releasing(new CaseResources()), Releasing.class).resources;
+    }
+
+    long leaked() {
+        return leaked.get();
+    }
+
+    @Override
+    public void close() {
+        long count = leaked();
+        if (count > 0) {
+            LOGGER.warning(() -> count + " streams and channels were left open by tests and closed after them");
+        }
+    }
+
+    private final class Releasing implements ExtensionContext.Store.CloseableResource {
+        private final CaseResources resources;
+
+        private Releasing(CaseResources resources) {
+            this.resources = resources;
+        }
+
+        @Override
+        public void close() throws Exception {
+            release(resources);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package dev.sirosh.case_folders.classpath_utils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Zip file systems of case archives (zip or jar). Each archive is opened once and shared by the whole run,
+ * case files are read straight from it. File systems stay open until JVM exits.
+ */
+public class ArchiveFileSystems {
+    private static final String SCHEME = "jar";
+    private static final ConcurrentMap<URI, FileSystem> FILE_SYSTEMS = new ConcurrentHashMap<>();
+
+    private ArchiveFileSystems() {
+    }
+
+    /**
+     * @return root folder of archive at given path
+     */
+    public static Path root(Path archive) {
+        URI uri = URI.create(SCHEME + ":" + archive.toAbsolutePath().normalize().toUri());
+        return fileSystem(uri).getPath("/");
+    }
+
+    /**
+     * @param uri {@code file:} or {@code jar:} resource URI, e.g. {@code jar:file:/cases.jar!/orders}
+     */
+    public static Path path(URI uri) {
+        if (!SCHEME.equalsIgnoreCase(uri.getScheme())) {
+            return Path.of(uri);
+        }
+        String spec = uri.toString();
+        int separator = spec.indexOf("!/");
+        fileSystem(URI.create(separator < 0 ? spec : spec.substring(0, separator)));
+        return Path.of(uri);
+    }
+
+    /**
+     * @return whether path is on default file system, so its files can be opened as channels, mapped and
+     * converted to {@link java.io.File}, unlike files inside archives and case bundles
+     */
+    public static boolean isDefault(Path path) {
+        return path.getFileSystem() == FileSystems.getDefault();
+    }
+
+    private static FileSystem fileSystem(URI archiveUri) {
+        return FILE_SYSTEMS.computeIfAbsent(archiveUri, ArchiveFileSystems::open);
+    }
+
+    private static FileSystem open(URI archiveUri) {
+        try {
+            return FileSystems.getFileSystem(archiveUri);
+        } catch (FileSystemNotFoundException e) {
+            try {
+                return FileSystems.newFileSystem(archiveUri, Collections.emptyMap());
+            } catch (FileSystemAlreadyExistsException alreadyOpened) {
+                return FileSystems.getFileSystem(archiveUri);
+            } catch (IOException ioException) {
+                throw new IllegalArgumentException("Can't open case archive " + archiveUri, ioException);
+            }
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package dev.sirosh.case_folders.classpath_utils;
+
+import org.junit.platform.commons.util.Preconditions;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Case folders packed into one file: header index of cases, their files and file offsets, followed by contents
+ * of files. Bundle is memory-mapped, listing cases reads the index only and files are handed out as read-only
+ * slices of the mapping without copying. Bundle inside archive can't be mapped and is read on heap instead.
+ * <p>
+ * Layout (big-endian): magic, version, case count, then for every case its name and file count, for every file
+ * its name (relative to case folder, separated by {@code /}), offset from start of bundle and length.
+ * Names are written as unsigned short length and UTF-8 bytes.
+ */
+public class CaseBundle implements Closeable {
+    private static final byte[] MAGIC = "CASEBNDL".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+
+    private final Path path;
+    private final ByteBuffer mapping;
+    private final Map<String, Map<String, Entry>> cases;
+
+    private CaseBundle(Path path, ByteBuffer mapping, Map<String, Map<String, Entry>> cases) {
+        this.path = path;
+        this.mapping = mapping;
+        this.cases = cases;
+    }
+
+    public static boolean isBundle(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(path)) {
+            return Arrays.equals(in.readNBytes(MAGIC.length), MAGIC);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public static CaseBundle open(Path path) {
+        ByteBuffer mapping = ArchiveFileSystems.isDefault(path) ? map(path) : read(path);
+        try {
+            return new CaseBundle(path, mapping, readIndex(path, mapping.duplicate()));
+        } catch (RuntimeException e) {
+            unmap(mapping);
+            throw e;
+        }
+    }
+
+    private static MappedByteBuffer map(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            checkSize(path, channel.size());
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("I/O error while mapping case bundle " + path, e);
+        }
+    }
+
+    /**
+     * file systems of archives don't support mapping
+     */
+    private static ByteBuffer read(Path path) {
+        try (InputStream in = Files.newInputStream(path)) {
+            checkSize(path, Files.size(path));
+            return ByteBuffer.wrap(in.readAllBytes()).asReadOnlyBuffer();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("I/O error while reading case bundle " + path, e);
+        }
+    }
+
+    private static void checkSize(Path path, long size) {
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Case bundle " + path + " is larger than 2GB, split it");
+        }
+    }
+
+    /**
+     * @return path of bundle file, paths of cases inside of bundle are its children
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    public List<String> caseNames() {
+        return new ArrayList<>(cases.keySet());
+    }
+
+    /**
+     * @param file path of case file inside of bundle, {@code bundle/case/file}
+     * @return read-only slice of bundle contents
+     */
+    public ByteBuffer file(Path file) {
+        Path relative = path.relativize(file);
+        Preconditions.condition(relative.getNameCount() > 1, () -> "Path " + file + " is not a file of case bundle " + path);
+        String caseName = relative.getName(0).toString();
+        String fileName = relative.subpath(1, relative.getNameCount()).toString().replace('\\', '/');
+        Map<String, Entry> files = cases.get(caseName);
+        Entry entry = files == null ? null : files.get(fileName);
+        Preconditions.condition(entry != null, () -> "File " + fileName + " of case " + caseName
+                + " not found in case bundle " + path);
+        return mapping.duplicate()
+                .position((int) entry.offset)
+                .limit((int) (entry.offset + entry.length))
+                .slice();
+    }
+
+    @Override
+    public void close() {
+        unmap(mapping);
+    }
+
+    private static void unmap(ByteBuffer mapping) {
+        try {
+            CaseResources.unmap(mapping);
+        } catch (ReflectiveOperationException e) {
+            // left to garbage collector
+        }
+    }
+
+    /**
+     * packs every sub folder of root folder into bundle, cases and files are written in name order
+     */
+    public static void pack(Path rootFolder, Path bundle) throws IOException {
+        Map<String, List<Path>> cases = new LinkedHashMap<>();
+        try (Stream<Path> caseFolders = Files.list(rootFolder)) {
+            for (Path caseFolder : caseFolders.filter(Files::isDirectory).sorted().collect(Collectors.toList())) {
+                try (Stream<Path> files = Files.walk(caseFolder)) {
+                    cases.put(caseFolder.getFileName().toString(),
+                            files.filter(Files::isRegularFile).sorted().collect(Collectors.toList()));
+                }
+            }
+        }
+
+        long offset = MAGIC.length + Integer.BYTES + Integer.BYTES;
+        for (Map.Entry<String, List<Path>> caseEntry : cases.entrySet()) {
+            offset += nameLength(caseEntry.getKey()) + Integer.BYTES;
+            for (Path file : caseEntry.getValue()) {
+                offset += nameLength(fileName(rootFolder.resolve(caseEntry.getKey()), file)) + 2 * Long.BYTES;
+            }
+        }
+
+        Path parent = bundle.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(bundle)))) {
+            out.write(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(cases.size());
+            for (Map.Entry<String, List<Path>> caseEntry : cases.entrySet()) {
+                writeName(out, caseEntry.getKey());
+                out.writeInt(caseEntry.getValue().size());
+                for (Path file : caseEntry.getValue()) {
+                    long length = Files.size(file);
+                    writeName(out, fileName(rootFolder.resolve(caseEntry.getKey()), file));
+                    out.writeLong(offset);
+                    out.writeLong(length);
+                    offset += length;
+                }
+            }
+            for (List<Path> files : cases.values()) {
+                for (Path file : files) {
+                    Files.copy(file, out);
+                }
+            }
+        }
+    }
+
+    /**
+     * reads and validates index: counts fit into bundle, every file lies between the index and end of bundle,
+     * files don't overlap
+     */
+    private static Map<String, Map<String, Entry>> readIndex(Path path, ByteBuffer index) {
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            index.get(magic);
+            if (!Arrays.equals(magic, MAGIC) || index.getInt() != VERSION) {
+                throw new IllegalArgumentException("File " + path + " is not a case bundle of version " + VERSION);
+            }
+            int caseCount = readCount(path, index, "case", Short.BYTES + Integer.BYTES);
+            Map<String, Map<String, Entry>> cases = new LinkedHashMap<>();
+            List<Entry> entries = new ArrayList<>();
+            for (int i = 0; i < caseCount; i++) {
+                String caseName = readName(index);
+                int fileCount = readCount(path, index, "file of case " + caseName, Short.BYTES + 2 * Long.BYTES);
+                Map<String, Entry> files = new LinkedHashMap<>();
+                for (int j = 0; j < fileCount; j++) {
+                    String fileName = readName(index);
+                    Entry entry = new Entry(fileName, index.getLong(), index.getLong());
+                    checkIndex(files.put(fileName, entry) == null, path,
+                            "file " + fileName + " of case " + caseName + " is listed twice");
+                    entries.add(entry);
+                }
+                checkIndex(cases.put(caseName, Collections.unmodifiableMap(files)) == null, path,
+                        "case " + caseName + " is listed twice");
+            }
+            checkEntries(path, entries, index.position(), index.limit());
+            return Collections.unmodifiableMap(cases);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Case bundle " + path + " is corrupt: index is truncated", e);
+        }
+    }
+
+    private static int readCount(Path path, ByteBuffer index, String what, int minEntrySize) {
+        int count = index.getInt();
+        checkIndex(count >= 0 && count <= index.remaining() / minEntrySize, path,
+                what + " count " + count + " doesn't fit into bundle");
+        return count;
+    }
+
+    private static void checkEntries(Path path, List<Entry> entries, long indexEnd, long bundleEnd) {
+        List<Entry> byOffset = new ArrayList<>(entries);
+        byOffset.sort(Comparator.comparingLong((Entry entry) -> entry.offset).thenComparingLong(entry -> entry.length));
+        long previousEnd = indexEnd;
+        for (Entry entry : byOffset) {
+            checkIndex(entry.offset >= 0 && entry.length >= 0, path, "file " + entry.name
+                    + " has negative offset " + entry.offset + " or length " + entry.length);
+            checkIndex(entry.offset >= indexEnd, path, "file " + entry.name + " at offset " + entry.offset
+                    + " overlaps index ending at " + indexEnd);
+            checkIndex(entry.offset >= previousEnd, path, "file " + entry.name + " at offset " + entry.offset
+                    + " overlaps previous file ending at " + previousEnd);
+            checkIndex(entry.length <= bundleEnd - entry.offset, path, "file " + entry.name + " at offset "
+                    + entry.offset + " with length " + entry.length + " is past end of bundle at " + bundleEnd);
+            previousEnd = entry.offset + entry.length;
+        }
+    }
+
+    private static void checkIndex(boolean valid, Path path, String message) {
+        if (!valid) {
+            throw new IllegalArgumentException("Case bundle " + path + " is corrupt: " + message);
+        }
+    }
+
+    private static String fileName(Path caseFolder, Path file) {
+        return caseFolder.relativize(file).toString().replace('\\', '/');
+    }
+
+    private static int nameLength(String name) {
+        return Short.BYTES + name.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static void writeName(DataOutputStream out, String name) throws IOException {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Name is too long for case bundle: " + name);
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readName(ByteBuffer index) {
+        byte[] bytes = new byte[Short.toUnsignedInt(index.getShort())];
+        index.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final long offset;
+        private final long length;
+
+        private Entry(String name, long offset, long length) {
+            this.name = name;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
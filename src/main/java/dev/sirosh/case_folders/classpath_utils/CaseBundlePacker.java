@@ -0,0 +1,21 @@
+package dev.sirosh.case_folders.classpath_utils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Packs case folders into {@link CaseBundle}: {@code CaseBundlePacker <root folder> <bundle file>}
+ */
+public class CaseBundlePacker {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CaseBundlePacker <root folder> <bundle file>");
+            System.exit(2);
+        }
+        Path rootFolder = Path.of(args[0]);
+        Path bundle = Path.of(args[1]);
+        CaseBundle.pack(rootFolder, bundle);
+        System.out.println("Packed " + rootFolder + " into " + bundle);
+    }
+}
@@ -0,0 +1,23 @@
+package dev.sirosh.case_folders.classpath_utils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Converter of case files to parameters of {@link #type()}, discovered with {@link java.util.ServiceLoader}:
+ * list implementation in {@code META-INF/services/dev.sirosh.case_folders.classpath_utils.CaseFileConverter}.
+ * Implementations need public no-arg constructor and must be safe for concurrent use.
+ * <p>
+ * File may be inside archive or missing and stored compressed next to it, read it with
+ * {@link CompressedFiles#newInputStream(Path)} unless {@link ArchiveFileSystems#isDefault(Path)} and not
+ * {@link CompressedFiles#isFallback(Path)}, then it can be opened as channel. Streams and channels handed out
+ * to test should be {@link CaseResources#track tracked}, so they are closed when invocation finishes.
+ *
+ * @param <T> parameter type, converter is picked only for parameters of exactly this type
+ */
+public interface CaseFileConverter<T> {
+
+    Class<T> type();
+
+    T convert(Path file, CaseResources resources) throws IOException;
+}
@@ -0,0 +1,57 @@
+package dev.sirosh.case_folders.classpath_utils;
+
+import org.junit.platform.commons.PreconditionViolationException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * {@link CaseFileConverter} implementations found on classpath, loaded on first lookup and kept for the run.
+ */
+final class CaseFileConverters {
+    private static volatile Map<Class<?>, CaseFileConverter<?>> converters;
+
+    private CaseFileConverters() {
+    }
+
+    /**
+     * @return converter registered for exactly this type, or null
+     */
+    static CaseFileConverter<?> get(Class<?> type) {
+        return converters().get(type);
+    }
+
+    static Map<Class<?>, CaseFileConverter<?>> converters() {
+        Map<Class<?>, CaseFileConverter<?>> loaded = converters;
+        if (loaded == null) {
+            synchronized (CaseFileConverters.class) {
+                loaded = converters;
+                if (loaded == null) {
+                    loaded = load();
+                    converters = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Map<Class<?>, CaseFileConverter<?>> load() {
+        Map<Class<?>, CaseFileConverter<?>> loaded = new LinkedHashMap<>();
+        for (CaseFileConverter converter : ServiceLoader.load(CaseFileConverter.class)) {
+            Class<?> type = converter.type();
+            if (FileConverter.isBuiltIn(type)) {
+                throw new PreconditionViolationException("Converter " + converter.getClass().getName()
+                        + " can't replace built-in conversion to " + type.getName());
+            }
+            CaseFileConverter<?> previous = loaded.putIfAbsent(type, converter);
+            if (previous != null) {
+                throw new PreconditionViolationException("Converters " + previous.getClass().getName()
+                        + " and " + converter.getClass().getName() + " are both registered for " + type.getName());
+            }
+        }
+        return Collections.unmodifiableMap(loaded);
+    }
+}
@@ -0,0 +1,143 @@
+package dev.sirosh.case_folders.classpath_utils;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Resources handed out to one test invocation (mappings, streams, channels), released together when invocation
+ * finishes. Streams and channels still open at that point were leaked by test, their number is kept for reporting.
+ */
+public class CaseResources implements ExtensionContext.Store.CloseableResource {
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // mappings will be released by garbage collector
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private final Deque<Tracked> resources = new ArrayDeque<>();
+    private int leaked;
+
+    /**
+     * channels are counted as leaked when they are still open on release
+     */
+    public <T extends AutoCloseable> T track(T resource) {
+        BooleanSupplier open = resource instanceof Channel ? ((Channel) resource)::isOpen : () -> false;
+        push(new Tracked(resource, open));
+        return resource;
+    }
+
+    /**
+     * @return stream to hand out instead of given one, so it is known whether test closed it
+     */
+    public InputStream trackStream(InputStream stream) {
+        ClosingInputStream tracked = new ClosingInputStream(stream);
+        push(new Tracked(tracked, tracked::isOpen));
+        return tracked;
+    }
+
+    public MappedByteBuffer track(MappedByteBuffer mapping) {
+        push(new Tracked(() -> unmap(mapping), () -> false));
+        return mapping;
+    }
+
+    public synchronized boolean isEmpty() {
+        return resources.isEmpty();
+    }
+
+    /**
+     * @return number of streams and channels that were left open by test, counted by {@link #close()}
+     */
+    public synchronized int leaked() {
+        return leaked;
+    }
+
+    @Override
+    public void close() throws Exception {
+        Exception failure = null;
+        for (Tracked tracked = poll(); tracked != null; tracked = poll()) {
+            try {
+                if (tracked.open.getAsBoolean()) {
+                    synchronized (this) {
+                        leaked++;
+                    }
+                }
+                tracked.resource.close();
+            } catch (Exception e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private synchronized void push(Tracked tracked) {
+        resources.push(tracked);
+    }
+
+    private synchronized Tracked poll() {
+        return resources.poll();
+    }
+
+    static void unmap(ByteBuffer mapping) throws ReflectiveOperationException {
+        if (INVOKE_CLEANER != null && mapping.isDirect()) {
+            INVOKE_CLEANER.invoke(UNSAFE, mapping);
+        }
+    }
+
+    private static final class Tracked {
+        private final AutoCloseable resource;
+        private final BooleanSupplier open;
+
+        private Tracked(AutoCloseable resource, BooleanSupplier open) {
+            this.resource = resource;
+            this.open = open;
+        }
+    }
+
+    private static final class ClosingInputStream extends FilterInputStream {
+        private volatile boolean closed;
+
+        private ClosingInputStream(InputStream in) {
+            super(in);
+        }
+
+        boolean isOpen() {
+            return !closed;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
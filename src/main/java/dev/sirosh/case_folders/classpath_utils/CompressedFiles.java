@@ -0,0 +1,118 @@
+package dev.sirosh.case_folders.classpath_utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Case files stored compressed: {@code expected.json} is read from {@code expected.json.gz} (gzip) or
+ * {@code expected.json.deflate} (zlib) when plain file is missing. Contents are decompressed while streaming.
+ * <p>
+ * Converters get path of file as it was named by test, so only missing files fall back to their compressed
+ * variant: file named {@code payload.gz} by test exists and is read as it is.
+ */
+public class CompressedFiles {
+    private static final String GZIP = ".gz";
+    private static final String DEFLATE = ".deflate";
+    static final List<String> EXTENSIONS = List.of(GZIP, DEFLATE);
+
+    private CompressedFiles() {
+    }
+
+    /**
+     * @return first existing compressed variant of missing file, or path itself
+     */
+    public static Path compressed(Path path) {
+        for (String extension : EXTENSIONS) {
+            Path compressed = path.resolveSibling(path.getFileName() + extension);
+            if (Files.isRegularFile(compressed)) {
+                return compressed;
+            }
+        }
+        return path;
+    }
+
+    /**
+     * @return path itself when it is file, otherwise its compressed variant when one exists
+     */
+    public static Path locate(Path path) {
+        return Files.isRegularFile(path) ? path : compressed(path);
+    }
+
+    /**
+     * @return whether file is missing and is read from its compressed variant
+     */
+    public static boolean isFallback(Path path) {
+        return !Files.isRegularFile(path) && compressed(path) != path;
+    }
+
+    /**
+     * @return stream of file, or decompressed contents of its compressed variant when file is missing
+     */
+    public static InputStream newInputStream(Path path) throws IOException {
+        try {
+            return Files.newInputStream(path);
+        } catch (NoSuchFileException missing) {
+            return decompress(fallback(path, missing));
+        }
+    }
+
+    /**
+     * @return stream of decompressed contents for {@code .gz} and {@code .deflate} files, plain stream otherwise,
+     * for files named compressed by tests themselves, like expected files of golden file assertions
+     */
+    public static InputStream newDecompressingInputStream(Path path) throws IOException {
+        String name = path.getFileName().toString();
+        if (name.endsWith(GZIP) || name.endsWith(DEFLATE)) {
+            return decompress(path);
+        }
+        return Files.newInputStream(path);
+    }
+
+    static byte[] readAllBytes(Path path) throws IOException {
+        try {
+            return Files.readAllBytes(path);
+        } catch (NoSuchFileException missing) {
+            try (InputStream in = decompress(fallback(path, missing))) {
+                return in.readAllBytes();
+            }
+        }
+    }
+
+    static String readString(Path path) throws IOException {
+        try {
+            return Files.readString(path);
+        } catch (NoSuchFileException missing) {
+            try (InputStream in = decompress(fallback(path, missing))) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    private static Path fallback(Path path, NoSuchFileException missing) throws NoSuchFileException {
+        Path compressed = compressed(path);
+        if (compressed == path) {
+            throw missing;
+        }
+        return compressed;
+    }
+
+    private static InputStream decompress(Path compressed) throws IOException {
+        InputStream in = Files.newInputStream(compressed);
+        try {
+            if (compressed.getFileName().toString().endsWith(GZIP)) {
+                return new GZIPInputStream(in, 64 * 1024);
+            }
+            return new InflaterInputStream(in);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+}
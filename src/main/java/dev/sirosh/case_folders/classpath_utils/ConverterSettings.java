@@ -0,0 +1,28 @@
+package dev.sirosh.case_folders.classpath_utils;
+
+public class ConverterSettings {
+    public static final long DEFAULT_MAPPING_THRESHOLD = 16 * 1024 * 1024;
+    public static final ConverterSettings DEFAULT = new ConverterSettings(DEFAULT_MAPPING_THRESHOLD, null);
+
+    private final long mappingThreshold;
+    private final FileContentCache contentCache;
+
+    /**
+     * @param mappingThreshold files larger than this are memory-mapped for {@link java.nio.ByteBuffer} parameters
+     *                         instead of being read on heap
+     * @param contentCache     cache for {@code String}, {@code byte[]} and heap buffer parameters, or null to read
+     *                         files every time
+     */
+    public ConverterSettings(long mappingThreshold, FileContentCache contentCache) {
+        this.mappingThreshold = mappingThreshold;
+        this.contentCache = contentCache;
+    }
+
+    public long getMappingThreshold() {
+        return mappingThreshold;
+    }
+
+    public FileContentCache getContentCache() {
+        return contentCache;
+    }
+}
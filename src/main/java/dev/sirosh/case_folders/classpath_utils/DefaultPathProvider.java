@@ -16,7 +16,7 @@ public class DefaultPathProvider implements PathProvider {
     URL resource = baseClass.getResource(path);
     Preconditions.notNull(resource, "Classpath resource [" + path + "] doesn't exists");
     try {
-      return Path.of(resource.toURI());
+      return ArchiveFileSystems.path(resource.toURI());
     } catch (URISyntaxException e) {
       throw new RuntimeException(e);
     }
@@ -0,0 +1,170 @@
+package dev.sirosh.case_folders.classpath_utils;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Contents of files shared between tests, least recently used files are evicted when byte budget is exceeded.
+ * Entries are keyed by path, modification time and size, so changed files are read again.
+ * Cached values are shared: only immutable views of them may be handed out to tests.
+ * Safe for concurrent use, files are read outside of lock, so concurrent misses of one file may read it twice.
+ */
+public class FileContentCache implements ExtensionContext.Store.CloseableResource {
+    private static final Logger LOGGER = Logger.getLogger(FileContentCache.class.getName());
+
+    private final long budget;
+    private final Map<Key, Object> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long used;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public FileContentCache(long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * @return cached array, callers must not modify or expose it
+     */
+    byte[] bytes(Path path) {
+        return (byte[]) get(path, false);
+    }
+
+    String string(Path path) {
+        return (String) get(path, true);
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public long evictions() {
+        return evictions.get();
+    }
+
+    public synchronized long usedBytes() {
+        return used;
+    }
+
+    @Override
+    public void close() {
+        LOGGER.info(() -> "case file content cache: " + hits() + " hits, " + misses() + " misses, "
+                + evictions() + " evictions, " + usedBytes() + " of " + budget + " bytes used");
+    }
+
+    private Object get(Path path, boolean string) {
+        Key key = key(path, string);
+        synchronized (this) {
+            Object value = entries.get(key);
+            if (value != null) {
+                hits.incrementAndGet();
+                return value;
+            }
+        }
+        misses.incrementAndGet();
+        Object value = read(path, string);
+        long weight = weight(value);
+        if (weight <= budget) {
+            put(key, value, weight);
+        }
+        return value;
+    }
+
+    private synchronized void put(Key key, Object value, long weight) {
+        Object previous = entries.put(key, value);
+        if (previous != null) {
+            used -= weight(previous);
+        }
+        used += weight;
+        Iterator<Map.Entry<Key, Object>> eldest = entries.entrySet().iterator();
+        while (used > budget && eldest.hasNext()) {
+            Map.Entry<Key, Object> entry = eldest.next();
+            used -= weight(entry.getValue());
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static long weight(Object value) {
+        return value instanceof String ? 2L * ((String) value).length() : ((byte[]) value).length;
+    }
+
+    /**
+     * key of missing file holds attributes of its compressed variant, but stays apart from key of that variant
+     */
+    private static Key key(Path path, boolean string) {
+        try {
+            BasicFileAttributes attributes = attributes(path);
+            return new Key(path.toAbsolutePath().normalize(), attributes.lastModifiedTime(), attributes.size(), string);
+        } catch (IOException e) {
+            throw new RuntimeException("I/O error while reading " + path, e);
+        }
+    }
+
+    private static BasicFileAttributes attributes(Path path) throws IOException {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException missing) {
+            Path compressed = CompressedFiles.compressed(path);
+            if (compressed == path) {
+                throw missing;
+            }
+            return Files.readAttributes(compressed, BasicFileAttributes.class);
+        }
+    }
+
+    private static Object read(Path path, boolean string) {
+        try {
+            return string ? CompressedFiles.readString(path) : CompressedFiles.readAllBytes(path);
+        } catch (IOException e) {
+            throw new RuntimeException("I/O error while reading " + path, e);
+        }
+    }
+
+    private static final class Key {
+        private final Path path;
+        private final FileTime modified;
+        private final long size;
+        private final boolean string;
+
+        private Key(Path path, FileTime modified, long size, boolean string) {
+            this.path = path;
+            this.modified = modified;
+            this.size = size;
+            this.string = string;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return size == key.size && string == key.string && path.equals(key.path) && modified.equals(key.modified);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, modified, size, string);
+        }
+    }
+}
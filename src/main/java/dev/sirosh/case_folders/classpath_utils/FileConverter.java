@@ -1,67 +1,380 @@
 package dev.sirosh.case_folders.classpath_utils;
 
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import dev.sirosh.case_folders.jfr.FileConversionEvent;
 import org.junit.platform.commons.PreconditionViolationException;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+/**
+ * Converters of case files and folders to parameters, picked once per parameter by its type.
+ * Built-in types are looked up in maps below, other types in {@link CaseFileConverter} implementations on classpath.
+ */
 public class FileConverter {
+    private static final Map<Class<?>, Function<String, PathConverter>> FOLDER_CONVERTERS = folderConverters();
+    private static final Map<Class<?>, BiFunction<String, ConverterSettings, PathConverter>> FILE_CONVERTERS = fileConverters();
+    private static final Map<Class<?>, Function<CaseBundle, PathConverter>> BUNDLE_CONVERTERS = bundleConverters();
+
     public static Object convertFolderParameter(Path caseFolder, Parameter parameter) {
+        return folderConverter(parameter).convert(caseFolder, new CaseResources());
+    }
+
+    public static Object convertFileParameter(Parameter parameter, Path path) {
+        return convertFileParameter(parameter, path, new CaseResources());
+    }
+
+    public static Object convertFileParameter(Parameter parameter, Path path, CaseResources resources) {
+        return fileConverter(parameter, ConverterSettings.DEFAULT).convert(path, resources);
+    }
+
+    public static PathConverter folderConverter(Parameter parameter) {
         Class<?> parameterType = parameter.getType();
-        if (parameterType.equals(Path.class)) {
-            return caseFolder;
+        Function<String, PathConverter> converter = FOLDER_CONVERTERS.get(parameterType);
+        if (converter == null) {
+            throw new PreconditionViolationException("Can only resolve @CaseFolder " + parameter.getName()
+                    + " of type " + typeNames(FOLDER_CONVERTERS.keySet())
+                    + " but was: " + parameterType.getName());
         }
-        if (parameterType.equals(File.class)) {
-            return caseFolder.toFile();
+        return converter.apply(parameter.getName());
+    }
+
+    public static PathConverter fileConverter(Parameter parameter, ConverterSettings settings) {
+        return fileConverter(parameter.getType(), parameter.getParameterizedType(), parameter.getName(), settings);
+    }
+
+    /**
+     * converter of {@code @CaseFile} parameter or field
+     */
+    public static PathConverter fileConverter(Class<?> type, Type genericType, String name, ConverterSettings settings) {
+        if (isLazy(type)) {
+            Class<?> suppliedType = suppliedType(genericType, name);
+            PathConverter converter = recorded(fileConverter(suppliedType, name, settings), suppliedType,
+                    CompressedFiles::locate);
+            return (path, resources) -> new LazyFile(path, converter, resources);
         }
-        if (parameterType.equals(String.class)) {
-            return caseFolder.toString();
+        return recorded(fileConverter(type, name, settings), type, CompressedFiles::locate);
+    }
+
+    /**
+     * converter of files inside of {@link CaseBundle}, buffers are zero-copy slices of bundle mapping
+     */
+    public static PathConverter bundleConverter(Parameter parameter, CaseBundle bundle) {
+        if (isLazy(parameter)) {
+            Class<?> suppliedType = suppliedType(parameter.getParameterizedType(), parameter.getName());
+            PathConverter converter = recorded(bundleConverter(suppliedType, parameter.getName(), bundle), suppliedType,
+                    Function.identity());
+            return (path, resources) -> new LazyFile(path, converter, resources);
         }
-        throw new PreconditionViolationException("Can only resolve @CaseFolder " + parameter.getName()
-                + " of type " + Path.class.getName()
-                + " or " + File.class.getName()
-                + " or " + String.class.getName()
-                + " but was: " + parameterType.getName());
+        return recorded(bundleConverter(parameter.getType(), parameter.getName(), bundle), parameter.getType(),
+                Function.identity());
     }
 
-    public static Object convertFileParameter(Parameter parameter, Path path) {
-        Class<?> parameterType = parameter.getType();
-        if (parameterType.equals(Path.class)) {
-            return path;
+    /**
+     * @param source file actually read for path, only looked up when event is recorded
+     */
+    private static PathConverter recorded(PathConverter converter, Class<?> targetType,
+                                          Function<Path, Path> source) {
+        return (path, resources) -> {
+            FileConversionEvent event = new FileConversionEvent();
+            event.begin();
+            Object value = converter.convert(path, resources);
+            if (event.shouldCommit()) {
+                event.path = source.apply(path).toString();
+                event.bytes = isBuiltIn(targetType) ? bytesRead(value) : -1;
+                event.targetType = targetType.getName();
+                event.commit();
+            }
+            return value;
+        };
+    }
+
+    /**
+     * @return bytes of content held by converted value, 0 for paths, streams and channels that are read by test
+     */
+    private static long bytesRead(Object value) {
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        if (value instanceof ByteBuffer) {
+            return ((ByteBuffer) value).remaining();
         }
-        if (parameterType.equals(File.class)) {
-            return path.toFile();
+        if (value instanceof CharSequence) {
+            return utf8Length((CharSequence) value);
+        }
+        return 0;
+    }
+
+    /**
+     * @return length of text encoded as UTF-8, counted without encoding it
+     */
+    public static long utf8Length(CharSequence text) {
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * {@code Supplier<T>} parameters are converted on first access, so cases that don't use them never read the file
+     */
+    public static boolean isLazy(Parameter parameter) {
+        return isLazy(parameter.getType());
+    }
+
+    private static boolean isLazy(Class<?> type) {
+        return type.equals(Supplier.class);
+    }
+
+    private static Class<?> suppliedType(Type type, String name) {
+        if (type instanceof ParameterizedType) {
+            Type supplied = ((ParameterizedType) type).getActualTypeArguments()[0];
+            if (supplied instanceof WildcardType) {
+                supplied = ((WildcardType) supplied).getUpperBounds()[0];
+            }
+            if (supplied instanceof Class) {
+                return (Class<?>) supplied;
+            }
+        }
+        throw new PreconditionViolationException("Can only resolve @CaseFile " + name
+                + " of type " + Supplier.class.getName() + " with a type argument"
+                + " but was: " + type.getTypeName());
+    }
+
+    private static PathConverter fileConverter(Class<?> parameterType, String name, ConverterSettings settings) {
+        BiFunction<String, ConverterSettings, PathConverter> builtIn = FILE_CONVERTERS.get(
+                InputStream.class.isAssignableFrom(parameterType) ? InputStream.class : parameterType);
+        if (builtIn != null) {
+            return builtIn.apply(name, settings);
+        }
+        CaseFileConverter<?> registered = CaseFileConverters.get(parameterType);
+        if (registered != null) {
+            return (path, resources) -> {
+                try {
+                    return registered.convert(path, resources);
+                } catch (IOException e) {
+                    throw new RuntimeException("I/O error while reading " + path, e);
+                }
+            };
+        }
+        throw new PreconditionViolationException("Can only resolve @CaseFile " + name
+                + " of type " + typeNames(FILE_CONVERTERS.keySet())
+                + registeredTypeNames()
+                + " or " + Supplier.class.getName() + " of them"
+                + " but was: " + parameterType.getName());
+    }
+
+    private static PathConverter bundleConverter(Class<?> parameterType, String name, CaseBundle bundle) {
+        Function<CaseBundle, PathConverter> builtIn = BUNDLE_CONVERTERS.get(
+                InputStream.class.isAssignableFrom(parameterType) ? InputStream.class : parameterType);
+        if (builtIn == null) {
+            throw new PreconditionViolationException("Can only resolve @CaseFile " + name
+                    + " from case bundle as " + typeNames(BUNDLE_CONVERTERS.keySet())
+                    + " or " + Supplier.class.getName() + " of them"
+                    + " but was: " + parameterType.getName());
         }
-        if (parameterType.equals(String.class)) {
+        return builtIn.apply(bundle);
+    }
+
+    /**
+     * @return whether files are converted to this type without {@link CaseFileConverter}
+     */
+    static boolean isBuiltIn(Class<?> type) {
+        return FILE_CONVERTERS.containsKey(type) || InputStream.class.isAssignableFrom(type);
+    }
+
+    private static String typeNames(Set<Class<?>> types) {
+        return types.stream().map(Class::getTypeName).collect(Collectors.joining(" or "));
+    }
+
+    private static String registeredTypeNames() {
+        Set<Class<?>> registered = CaseFileConverters.converters().keySet();
+        return registered.isEmpty() ? "" : " or " + typeNames(registered);
+    }
+
+    private static Map<Class<?>, Function<String, PathConverter>> folderConverters() {
+        Map<Class<?>, Function<String, PathConverter>> converters = new LinkedHashMap<>();
+        converters.put(Path.class, name -> (caseFolder, resources) -> caseFolder);
+        converters.put(File.class, name -> (caseFolder, resources) -> toFile(caseFolder, "@CaseFolder", name));
+        converters.put(String.class, name -> (caseFolder, resources) -> caseFolder.toString());
+        return Collections.unmodifiableMap(converters);
+    }
+
+    private static Map<Class<?>, BiFunction<String, ConverterSettings, PathConverter>> fileConverters() {
+        Map<Class<?>, BiFunction<String, ConverterSettings, PathConverter>> converters = new LinkedHashMap<>();
+        converters.put(Path.class, (name, settings) -> (path, resources) -> CompressedFiles.locate(path));
+        converters.put(File.class, (name, settings) -> (path, resources) ->
+                toFile(CompressedFiles.locate(path), "@CaseFile", name));
+        converters.put(String.class, (name, settings) -> (path, resources) -> readString(path, settings.getContentCache()));
+        converters.put(InputStream.class, (name, settings) -> (path, resources) -> {
             try {
-                return Files.readString(path);
+                return resources.trackStream(CompressedFiles.newInputStream(path));
             } catch (IOException e) {
                 throw new RuntimeException("I/O error while reading " + path, e);
             }
-        }
-        if (InputStream.class.isAssignableFrom(parameterType)) {
+        });
+        converters.put(ReadableByteChannel.class, (name, settings) -> (path, resources) -> {
             try {
-                return Files.newInputStream(path);
+                return resources.track(isMappable(path)
+                        ? FileChannel.open(path, StandardOpenOption.READ)
+                        : Channels.newChannel(CompressedFiles.newInputStream(path)));
             } catch (IOException e) {
                 throw new RuntimeException("I/O error while reading " + path, e);
             }
-        }
-        if (parameterType.equals(byte[].class)) {
+        });
+        converters.put(SeekableByteChannel.class, (name, settings) -> (path, resources) -> {
+            if (CompressedFiles.isFallback(path)) {
+                throw new PreconditionViolationException("Compressed file " + CompressedFiles.compressed(path) + " can't be opened as "
+                        + SeekableByteChannel.class.getName() + ", use " + ReadableByteChannel.class.getName());
+            }
+            try {
+                return resources.track(Files.newByteChannel(path, StandardOpenOption.READ));
+            } catch (IOException e) {
+                throw new RuntimeException("I/O error while reading " + path, e);
+            }
+        });
+        converters.put(FileChannel.class, (name, settings) -> (path, resources) -> {
+            if (!isMappable(path)) {
+                throw new PreconditionViolationException("File " + path + " inside archive or compressed can't be opened as "
+                        + FileChannel.class.getName() + ", use " + ReadableByteChannel.class.getName());
+            }
             try {
-                return Files.readAllBytes(path);
+                return resources.track(FileChannel.open(path, StandardOpenOption.READ));
             } catch (IOException e) {
                 throw new RuntimeException("I/O error while reading " + path, e);
             }
+        });
+        converters.put(byte[].class, (name, settings) -> {
+            FileContentCache cache = settings.getContentCache();
+            if (cache != null) {
+                return (path, resources) -> cache.bytes(path).clone();
+            }
+            return (path, resources) -> readBytes(path);
+        });
+        converters.put(ByteBuffer.class, (name, settings) -> (path, resources) -> {
+            if (isMappable(path) && size(path) > settings.getMappingThreshold()) {
+                return resources.track(map(path));
+            }
+            FileContentCache cache = settings.getContentCache();
+            byte[] bytes = cache != null ? cache.bytes(path) : readBytes(path);
+            return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+        });
+        converters.put(MappedByteBuffer.class, (name, settings) -> (path, resources) -> resources.track(map(path)));
+        // decoded chars take up to 2 bytes each, so CharBuffer is always read on heap, never mapped
+        converters.put(CharBuffer.class, (name, settings) -> (path, resources) ->
+                CharBuffer.wrap(readString(path, settings.getContentCache())));
+        return Collections.unmodifiableMap(converters);
+    }
+
+    private static Map<Class<?>, Function<CaseBundle, PathConverter>> bundleConverters() {
+        Map<Class<?>, Function<CaseBundle, PathConverter>> converters = new LinkedHashMap<>();
+        converters.put(String.class, bundle -> (path, resources) -> StandardCharsets.UTF_8.decode(bundle.file(path)).toString());
+        converters.put(InputStream.class, bundle -> (path, resources) -> new ByteBufferBackedInputStream(bundle.file(path)));
+        converters.put(ReadableByteChannel.class, bundle -> (path, resources) ->
+                Channels.newChannel(new ByteBufferBackedInputStream(bundle.file(path))));
+        converters.put(byte[].class, bundle -> (path, resources) -> {
+            ByteBuffer buffer = bundle.file(path);
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes;
+        });
+        converters.put(ByteBuffer.class, bundle -> (path, resources) -> bundle.file(path));
+        converters.put(CharBuffer.class, bundle -> (path, resources) -> StandardCharsets.UTF_8.decode(bundle.file(path)).asReadOnlyBuffer());
+        return Collections.unmodifiableMap(converters);
+    }
+
+    /**
+     * files inside archives and case bundles have no {@link File}
+     */
+    private static File toFile(Path path, String annotation, String name) {
+        if (!ArchiveFileSystems.isDefault(path)) {
+            throw new PreconditionViolationException(annotation + " " + name + " " + path
+                    + " is inside archive or case bundle and can't be " + File.class.getName()
+                    + ", use " + Path.class.getName() + " or " + InputStream.class.getName());
+        }
+        return path.toFile();
+    }
+
+    private static String readString(Path path, FileContentCache cache) {
+        if (cache != null) {
+            return cache.string(path);
+        }
+        try {
+            return CompressedFiles.readString(path);
+        } catch (IOException e) {
+            throw new RuntimeException("I/O error while reading " + path, e);
+        }
+    }
+
+    private static byte[] readBytes(Path path) {
+        try {
+            return CompressedFiles.readAllBytes(path);
+        } catch (IOException e) {
+            throw new RuntimeException("I/O error while reading " + path, e);
+        }
+    }
+
+    /**
+     * files inside archives and missing files read from compressed variant are read on heap
+     */
+    private static boolean isMappable(Path path) {
+        return ArchiveFileSystems.isDefault(path) && !CompressedFiles.isFallback(path);
+    }
+
+    private static MappedByteBuffer map(Path path) {
+        if (!isMappable(path)) {
+            throw new PreconditionViolationException("File " + path + " inside archive or compressed can't be mapped to "
+                    + MappedByteBuffer.class.getName() + ", use " + ByteBuffer.class.getName());
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new RuntimeException("I/O error while mapping " + path, e);
+        }
+    }
+
+    private static long size(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new RuntimeException("I/O error while reading " + path, e);
         }
-        throw new PreconditionViolationException("Can only resolve @CaseFile " + parameter.getName()
-                + " of type " + Path.class.getName()
-                + " or " + File.class.getName()
-                + " or " + String.class.getName()
-                + " but was: " + parameterType.getName());
     }
 
 }
@@ -0,0 +1,39 @@
+package dev.sirosh.case_folders.classpath_utils;
+
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * {@code Supplier<T>} file parameter, reads and converts file on first {@link #get()} and keeps result.
+ */
+class LazyFile implements Supplier<Object> {
+    private final Path path;
+    private final CaseResources resources;
+    private volatile PathConverter converter;
+    private Object value;
+
+    LazyFile(Path path, PathConverter converter, CaseResources resources) {
+        this.path = path;
+        this.converter = converter;
+        this.resources = resources;
+    }
+
+    @Override
+    public Object get() {
+        if (converter != null) {
+            synchronized (this) {
+                PathConverter pending = converter;
+                if (pending != null) {
+                    value = pending.convert(path, resources);
+                    converter = null;
+                }
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+}
@@ -0,0 +1,8 @@
+package dev.sirosh.case_folders.classpath_utils;
+
+import java.nio.file.Path;
+
+@FunctionalInterface
+public interface PathConverter {
+  Object convert(Path path, CaseResources resources);
+}
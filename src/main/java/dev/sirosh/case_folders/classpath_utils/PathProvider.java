@@ -2,10 +2,36 @@ package dev.sirosh.case_folders.classpath_utils;
 
 import java.nio.file.Path;
 
+import org.junit.platform.commons.PreconditionViolationException;
+
 public interface PathProvider {
   Path getClasspathResource(Class<?> baseClass, String path);
 
   default Source classpathResource(String path) {
     return context -> getClasspathResource(context.getRequiredTestClass(), path);
   }
+
+  /**
+   * like {@link #classpathResource(String)}, but falls back to compressed variant of missing file
+   * (see {@link CompressedFiles}): path of missing file is then resolved next to its compressed variant,
+   * so it is read decompressed
+   */
+  default Source classpathFile(String path) {
+    return context -> {
+      try {
+        return getClasspathResource(context.getRequiredTestClass(), path);
+      } catch (PreconditionViolationException missing) {
+        for (String extension : CompressedFiles.EXTENSIONS) {
+          try {
+            Path compressed = getClasspathResource(context.getRequiredTestClass(), path + extension);
+            String name = compressed.getFileName().toString();
+            return compressed.resolveSibling(name.substring(0, name.length() - extension.length()));
+          } catch (PreconditionViolationException e) {
+            // try next extension
+          }
+        }
+        throw missing;
+      }
+    };
+  }
 }
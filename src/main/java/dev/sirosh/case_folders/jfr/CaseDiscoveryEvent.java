@@ -0,0 +1,27 @@
+package dev.sirosh.case_folders.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("dev.sirosh.case_folders.CaseDiscovery")
+@Label("Case Discovery")
+@Category("Case Folders")
+@Description("Listing of @CaseFolderSource root folder")
+public class CaseDiscoveryEvent extends Event {
+    @Label("Root Folder")
+    public String path;
+
+    @Label("Case Count")
+    public long caseCount;
+
+    @Label("Cached")
+    @Description("Listing was served from shared case folder index")
+    public boolean cached;
+
+    @Label("Lazy")
+    @Description("Case folders were streamed from directory while tests ran")
+    public boolean lazy;
+}
@@ -0,0 +1,27 @@
+package dev.sirosh.case_folders.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("dev.sirosh.case_folders.FileConversion")
+@Label("File Conversion")
+@Category("Case Folders")
+@Description("Conversion of @CaseFile to parameter value")
+public class FileConversionEvent extends Event {
+    @Label("Path")
+    @Description("File read, compressed variant of missing file or file inside case bundle")
+    public String path;
+
+    @Label("Bytes Read")
+    @Description("Content read by conversion, decompressed; 0 for paths, streams and channels left to test,"
+            + " -1 for registered converters")
+    @DataAmount
+    public long bytes;
+
+    @Label("Target Type")
+    public String targetType;
+}
@@ -0,0 +1,27 @@
+package dev.sirosh.case_folders.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("dev.sirosh.case_folders.JsonConversion")
+@Label("Json Conversion")
+@Category("Case Folders")
+@Description("Deserialization of @JsonArgument")
+public class JsonConversionEvent extends Event {
+    @Label("Path")
+    @Description("Source file (compressed variant of missing file or file inside case bundle),"
+            + " empty when converting string argument")
+    public String path;
+
+    @Label("Size")
+    @Description("Bytes parsed, decompressed, or of string argument encoded as UTF-8")
+    @DataAmount
+    public long bytes;
+
+    @Label("Target Type")
+    public String targetType;
+}
@@ -1,20 +1,34 @@
 package dev.sirosh.case_folders;
 
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.platform.commons.PreconditionViolationException;
+import org.junit.platform.testkit.engine.EngineTestKit;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.junit.jupiter.api.Named.named;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
@@ -23,9 +37,7 @@ class CaseFileArgumentProviderTest {
     @MethodSource("argsSource")
     @ParameterizedTest(name = "{0}")
     void provideArguments(Method method, Object expected) {
-        ExtensionContext extensionContext = mock();
-        doReturn(TestClass.class).when(extensionContext).getRequiredTestClass();
-        doReturn(method).when(extensionContext).getRequiredTestMethod();
+        ExtensionContext extensionContext = TestUtils.extensionContext(TestClass.class, method);
 
         Parameter parameter = method.getParameters()[0];
         ParameterContext parameterContext = mock();
@@ -43,6 +55,41 @@ class CaseFileArgumentProviderTest {
                 .isEqualTo(expected);
     }
 
+    @Test
+    void injectsFields() throws Exception {
+        ExtensionContext extensionContext = TestUtils.extensionContext(FieldClass.class, null);
+        FieldClass instance = new FieldClass();
+
+        new CaseFileArgumentsProvider().postProcessTestInstance(instance, extensionContext);
+
+        assertThat(instance.cat).isEqualTo("meme cats");
+        assertThat(instance.catPath).isEqualTo(Path.of(TestClass.class.getResource("/test_cat_and_dog/meme/cat").toURI()));
+        assertThat(instance.lazyCat.get()).isEqualTo("meme cats");
+        assertThat(instance.notInjected).isNull();
+    }
+
+    @Test
+    void releasesPerMethodFieldsAfterTheirTest() {
+        FieldStreams.streams.clear();
+
+        EngineTestKit.engine("junit-jupiter")
+                .selectors(selectClass(FieldStreams.class))
+                .execute()
+                .testEvents()
+                .assertStatistics(stats -> stats.succeeded(2).failed(0));
+
+        assertThat(FieldStreams.streams).hasSize(2);
+    }
+
+    @Test
+    void rejectsStaticFields() {
+        ExtensionContext extensionContext = TestUtils.extensionContext(StaticFieldClass.class, null);
+
+        assertThatExceptionOfType(PreconditionViolationException.class)
+                .isThrownBy(() -> new CaseFileArgumentsProvider()
+                        .postProcessTestInstance(new StaticFieldClass(), extensionContext));
+    }
+
     public static Stream<Arguments> argsSource() throws NoSuchMethodException, URISyntaxException {
         Path catPath = Path.of(TestClass.class.getResource("/test_cat_and_dog/meme/cat").toURI());
         return Stream.of(
@@ -51,6 +98,43 @@ class CaseFileArgumentProviderTest {
                 Arguments.of(named("String argument", TestClass.class.getMethod("testCat", String.class)), "meme cats"));
     }
 
+    private static class FieldClass {
+        @CaseFile(file = "/test_cat_and_dog/meme/cat")
+        private String cat;
+        @CaseFile(file = "/test_cat_and_dog/meme/cat")
+        Path catPath;
+        @CaseFile(file = "/test_cat_and_dog/meme/cat")
+        private Supplier<String> lazyCat;
+        private String notInjected;
+    }
+
+    @ExtendWith(CaseFileArgumentsProvider.class)
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    static class FieldStreams {
+        static final List<InputStream> streams = new CopyOnWriteArrayList<>();
+
+        @CaseFile(file = "/test_cat_and_dog/meme/cat")
+        private InputStream cat;
+
+        @Test
+        @Order(1)
+        void first() {
+            streams.add(cat);
+        }
+
+        @Test
+        @Order(2)
+        void second() {
+            streams.add(cat);
+            assertThatExceptionOfType(IOException.class).isThrownBy(() -> streams.get(0).read());
+        }
+    }
+
+    private static class StaticFieldClass {
+        @CaseFile(file = "/test_cat_and_dog/meme/cat")
+        private static String cat;
+    }
+
     private abstract static class TestClass {
         public abstract void testCat(@CaseFile(file = "/test_cat_and_dog/meme/cat") Path cat);
 
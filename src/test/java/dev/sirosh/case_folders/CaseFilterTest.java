@@ -0,0 +1,43 @@
+package dev.sirosh.case_folders;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaseFilterTest {
+
+    @Test
+    void includesGlobAndRegexMatches() {
+        CaseFilter filter = new CaseFilter(List.of("order-*", "regex:refund-\\d+"), List.of());
+
+        assertThat(filter.contains(Path.of("/cases", "order-42"))).isTrue();
+        assertThat(filter.contains(Path.of("/cases", "refund-7"))).isTrue();
+        assertThat(filter.contains(Path.of("/cases", "refund-x"))).isFalse();
+        assertThat(filter.contains(Path.of("/cases", "invoice-1"))).isFalse();
+    }
+
+    @Test
+    void excludesTakePrecedence() {
+        CaseFilter filter = new CaseFilter(List.of("order-*"), List.of("glob:order-{1,2}"));
+
+        assertThat(filter.contains(Path.of("/cases", "order-1"))).isFalse();
+        assertThat(filter.contains(Path.of("/cases", "order-3"))).isTrue();
+    }
+
+    @Test
+    void emptyFilterContainsEveryCase() {
+        CaseFilter filter = new CaseFilter(List.of(), List.of());
+
+        assertThat(filter.isEmpty()).isTrue();
+        assertThat(filter.contains(Path.of("/cases", "order-1"))).isTrue();
+    }
+
+    @Test
+    void splitsPatternsOutsideOfGlobGroups() {
+        assertThat(CaseFilter.split("order-{1,2}, regex:refund-\\d+,,"))
+                .containsExactly("order-{1,2}", "regex:refund-\\d+");
+    }
+}
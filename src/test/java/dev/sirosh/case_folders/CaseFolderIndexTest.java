@@ -0,0 +1,56 @@
+package dev.sirosh.case_folders;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaseFolderIndexTest {
+
+    @Test
+    void listsRootFolderOnce(@TempDir Path root) throws IOException {
+        Files.createDirectory(root.resolve("first"));
+        Files.createDirectory(root.resolve("second"));
+        Files.writeString(root.resolve("common"), "not a case");
+        CaseFolderIndex index = new CaseFolderIndex();
+
+        assertThat(index.caseFolders(root))
+                .containsExactlyInAnyOrder(root.resolve("first"), root.resolve("second"));
+        assertThat(index.caseFolders(root))
+                .containsExactlyInAnyOrder(root.resolve("first"), root.resolve("second"));
+
+        assertThat(index.misses()).isEqualTo(1);
+        assertThat(index.hits()).isEqualTo(1);
+    }
+
+    @Test
+    void listsRootFolderAgainWhenModified(@TempDir Path root) throws IOException {
+        Files.createDirectory(root.resolve("first"));
+        CaseFolderIndex index = new CaseFolderIndex();
+        index.caseFolders(root);
+
+        Files.createDirectory(root.resolve("second"));
+        Files.setLastModifiedTime(root, FileTime.from(Instant.now().plusSeconds(60)));
+
+        assertThat(index.caseFolders(root))
+                .containsExactlyInAnyOrder(root.resolve("first"), root.resolve("second"));
+        assertThat(index.misses()).isEqualTo(2);
+        assertThat(index.hits()).isZero();
+    }
+
+    @Test
+    void sharedThroughRootStore() {
+        ExtensionContext first = TestUtils.extensionContext(CaseFolderIndexTest.class, null);
+        ExtensionContext second = first.getRoot();
+
+        assertThat(CaseFolderIndex.getInstance(first))
+                .isSameAs(CaseFolderIndex.getInstance(second));
+    }
+}
@@ -1,35 +1,42 @@
 package dev.sirosh.case_folders;
 
+import dev.sirosh.case_folders.classpath_utils.CaseBundle;
 import org.assertj.core.api.recursive.comparison.RecursiveComparisonConfiguration;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.platform.commons.PreconditionViolationException;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.junit.jupiter.api.Named.named;
-import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class CaseFolderSourceArgumentsProviderTest {
 
     @MethodSource("argsSource")
     @ParameterizedTest(name = "{0}")
     void provideArguments(Method method, List<Objects[]> expected) {
-        ExtensionContext context = mock();
-        doReturn(TestClass.class).when(context).getRequiredTestClass();
-        doReturn(method).when(context).getRequiredTestMethod();
+        ExtensionContext context = TestUtils.extensionContext(TestClass.class, method);
 
         CaseFolderSource annotation = method.getAnnotation(CaseFolderSource.class);
 
@@ -46,6 +53,42 @@ class CaseFolderSourceArgumentsProviderTest {
     }
 
 
+    @Test
+    void provideArgumentsFromBundle(@TempDir Path folder) throws Exception {
+        Path casePath = Path.of(TestClass.class.getResource("/test_cat_and_dog").toURI());
+        CaseBundle.pack(casePath, folder.resolve("test_cat_and_dog.cases"));
+        Method method = TestClass.class.getMethod("testCatsAndDogsBundle", String.class, ByteBuffer.class);
+        ExtensionContext context = TestUtils.extensionContext(TestClass.class, method);
+
+        CaseFolderSourceArgumentsProvider provider = new CaseFolderSourceArgumentsProvider(
+                (baseClass, path) -> folder.resolve(path.substring(1)));
+        provider.accept(method.getAnnotation(CaseFolderSource.class));
+
+        assertThat(provider.provideArguments(context).map(Arguments::get))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrder(
+                        array(named("meme", "meme cats"), ByteBuffer.wrap("meme dogs".getBytes(StandardCharsets.UTF_8))),
+                        array(named("mine", "my cats"), ByteBuffer.wrap("my dogs".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void rejectsIncrementalModeForBundle(@TempDir Path folder) throws Exception {
+        Path casePath = Path.of(TestClass.class.getResource("/test_cat_and_dog").toURI());
+        CaseBundle.pack(casePath, folder.resolve("test_cat_and_dog.cases"));
+        Method method = TestClass.class.getMethod("testCatsAndDogsBundle", String.class, ByteBuffer.class);
+        ExtensionContext context = TestUtils.extensionContext(TestClass.class, method);
+        when(context.getConfigurationParameter(CaseFolderConfiguration.INCREMENTAL))
+                .thenReturn(Optional.of(folder.resolve("manifest").toString()));
+
+        CaseFolderSourceArgumentsProvider provider = new CaseFolderSourceArgumentsProvider(
+                (baseClass, path) -> folder.resolve(path.substring(1)));
+        provider.accept(method.getAnnotation(CaseFolderSource.class));
+
+        assertThatExceptionOfType(PreconditionViolationException.class)
+                .isThrownBy(() -> provider.provideArguments(context))
+                .withMessageContaining("case bundle");
+    }
+
     public static Stream<Arguments> argsSource() throws NoSuchMethodException, URISyntaxException, IOException {
         Path casePath = Path.of(TestClass.class.getResource("/test_cat_and_dog").toURI());
         Path memePath = casePath.resolve("meme");
@@ -74,6 +117,28 @@ class CaseFolderSourceArgumentsProviderTest {
                         List.of(array(memePath.resolve("cat").toFile()), array(minePath.resolve("cat").toFile()))),
                 Arguments.of(named("one param test, byte array params", TestClass.class.getMethod("testCats", byte[].class)),
                         List.of(array(Files.readAllBytes(memePath.resolve("cat"))), array(Files.readAllBytes(minePath.resolve("cat"))))),
+                Arguments.of(named("one param test, byte buffer params", TestClass.class.getMethod("testCats", ByteBuffer.class)),
+                        List.of(array(ByteBuffer.wrap(Files.readAllBytes(memePath.resolve("cat")))),
+                                array(ByteBuffer.wrap(Files.readAllBytes(minePath.resolve("cat")))))),
+                Arguments.of(named("one param test, mapped byte buffer params", TestClass.class.getMethod("testCats", MappedByteBuffer.class)),
+                        List.of(array(ByteBuffer.wrap(Files.readAllBytes(memePath.resolve("cat")))),
+                                array(ByteBuffer.wrap(Files.readAllBytes(minePath.resolve("cat")))))),
+                Arguments.of(named("one param test, char buffer params", TestClass.class.getMethod("testCats", CharBuffer.class)),
+                        List.of(array(CharBuffer.wrap("my cats")), array(CharBuffer.wrap("meme cats")))),
+                Arguments.of(named("one param test, lazy discovery", TestClass.class.getMethod("testCatsLazy", String.class)),
+                        List.of(array("my cats"), array("meme cats"))),
+                Arguments.of(named("one param test, prefetch", TestClass.class.getMethod("testCatsPrefetch", String.class)),
+                        List.of(array("my cats"), array("meme cats"))),
+                Arguments.of(named("one param test, first shard", TestClass.class.getMethod("testCatsFirstShard", String.class)),
+                        List.<Object[]>of(array("meme cats"))),
+                Arguments.of(named("one param test, second shard", TestClass.class.getMethod("testCatsSecondShard", String.class)),
+                        List.<Object[]>of(array("my cats"))),
+                Arguments.of(named("one param test, included by glob", TestClass.class.getMethod("testCatsIncluded", String.class)),
+                        List.<Object[]>of(array("my cats"))),
+                Arguments.of(named("one param test, excluded by regex", TestClass.class.getMethod("testCatsExcluded", String.class)),
+                        List.<Object[]>of(array("meme cats"))),
+                Arguments.of(named("one param test, nothing included", TestClass.class.getMethod("testCatsNoneIncluded", String.class)),
+                        List.<Object[]>of(new Object[1])),
                 Arguments.of(named("one param test, include name", TestClass.class.getMethod("testCatsNamed", String.class)),
                         List.of(array(named("mine", "my cats")), array(named("meme", "meme cats")))),
                 Arguments.of(
@@ -152,9 +217,42 @@ class CaseFolderSourceArgumentsProviderTest {
         @CaseFolderSource(folder = "/test_cat_and_dog", nameFromCaseFolder = false)
         public abstract void testCats(@CaseFile(file = "cat") byte[] cat);
 
+        @CaseFolderSource(folder = "/test_cat_and_dog", nameFromCaseFolder = false)
+        public abstract void testCats(@CaseFile(file = "cat") ByteBuffer cat);
+
+        @CaseFolderSource(folder = "/test_cat_and_dog", nameFromCaseFolder = false)
+        public abstract void testCats(@CaseFile(file = "cat") MappedByteBuffer cat);
+
+        @CaseFolderSource(folder = "/test_cat_and_dog", nameFromCaseFolder = false)
+        public abstract void testCats(@CaseFile(file = "cat") CharBuffer cat);
+
         @CaseFolderSource(folder = "/test_cat_and_dog", nameFromCaseFolder = false)
         public abstract void testCats(@CaseFolder Path casePath, @CaseFile(file = "cat") String cat);
 
+        @CaseFolderSource(folder = "/test_cat_and_dog", nameFromCaseFolder = false, lazyDiscovery = true)
+        public abstract void testCatsLazy(@CaseFile(file = "cat") String cat);
+
+        @CaseFolderSource(folder = "/test_cat_and_dog", nameFromCaseFolder = false, prefetch = 1)
+        public abstract void testCatsPrefetch(@CaseFile(file = "cat") String cat);
+
+        @CaseFolderSource(folder = "/test_cat_and_dog", nameFromCaseFolder = false, shardIndex = 0, shardCount = 2)
+        public abstract void testCatsFirstShard(@CaseFile(file = "cat") String cat);
+
+        @CaseFolderSource(folder = "/test_cat_and_dog", nameFromCaseFolder = false, shardIndex = 1, shardCount = 2)
+        public abstract void testCatsSecondShard(@CaseFile(file = "cat") String cat);
+
+        @CaseFolderSource(folder = "/test_cat_and_dog", nameFromCaseFolder = false, include = "mi*")
+        public abstract void testCatsIncluded(@CaseFile(file = "cat") String cat);
+
+        @CaseFolderSource(folder = "/test_cat_and_dog", nameFromCaseFolder = false, exclude = "regex:m[ei]ne")
+        public abstract void testCatsExcluded(@CaseFile(file = "cat") String cat);
+
+        @CaseFolderSource(folder = "/test_cat_and_dog", nameFromCaseFolder = false, include = "dog*")
+        public abstract void testCatsNoneIncluded(@CaseFile(file = "cat") String cat);
+
+        @CaseFolderSource(folder = "/test_cat_and_dog.cases")
+        public abstract void testCatsAndDogsBundle(@CaseFile(file = "cat") String cat, @CaseFile(file = "dog") ByteBuffer dog);
+
         @CaseFolderSource(folder = "/test_cat_and_dog", nameFromCaseFolder = false)
         public abstract void testCatsAndDogs(@CaseFile(file = "cat") String cat, @CaseFile(file = "dog") String dog);
 
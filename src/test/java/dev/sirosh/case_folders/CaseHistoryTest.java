@@ -0,0 +1,66 @@
+package dev.sirosh.case_folders;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaseHistoryTest {
+    private static final String METHOD = "Test#test()";
+
+    @Test
+    void longestKnownCasesFirst(@TempDir Path root) throws IOException {
+        Path fast = caseFolder(root, "fast", 10);
+        Path slow = caseFolder(root, "slow", 10);
+        CaseHistory history = new CaseHistory(root.resolve("history"));
+        history.record(METHOD, fast, 1_000);
+        history.record(METHOD, slow, 9_000);
+
+        assertThat(history.longestFirst(METHOD, List.of(fast, slow))).containsExactly(slow, fast);
+    }
+
+    @Test
+    void unknownCasesEstimatedBySize(@TempDir Path root) throws IOException {
+        Path known = caseFolder(root, "known", 100);
+        Path small = caseFolder(root, "small", 10);
+        Path large = caseFolder(root, "large", 1_000);
+        CaseHistory history = new CaseHistory(root.resolve("history"));
+        history.record(METHOD, known, 500);
+
+        assertThat(history.longestFirst(METHOD, List.of(small, known, large))).containsExactly(large, known, small);
+    }
+
+    @Test
+    void savedOnClose(@TempDir Path root) throws IOException {
+        Path fast = caseFolder(root, "fast", 10);
+        Path slow = caseFolder(root, "slow", 10);
+        Path file = root.resolve("history");
+        CaseHistory history = new CaseHistory(file);
+        history.record(METHOD, fast, 1_000);
+        history.record(METHOD, slow, 9_000);
+        history.close();
+
+        assertThat(new CaseHistory(file).longestFirst(METHOD, List.of(fast, slow))).containsExactly(slow, fast);
+        assertThat(new CaseHistory(file).longestFirst("Other#test()", List.of(fast, slow))).containsExactly(fast, slow);
+    }
+
+    @Test
+    void corruptedHistoryIgnored(@TempDir Path root) throws IOException {
+        Path first = caseFolder(root, "first", 10);
+        Path file = root.resolve("history");
+        Files.writeString(file, METHOD + "\tfirst\tnot a number\t10\n");
+
+        assertThat(new CaseHistory(file).longestFirst(METHOD, List.of(first))).containsExactly(first);
+    }
+
+    private static Path caseFolder(Path root, String name, int bytes) throws IOException {
+        Path caseFolder = Files.createDirectory(root.resolve(name));
+        Files.write(caseFolder.resolve("data"), new byte[bytes]);
+        return caseFolder;
+    }
+}
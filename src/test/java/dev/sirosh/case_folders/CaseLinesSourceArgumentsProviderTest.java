@@ -0,0 +1,94 @@
+package dev.sirosh.case_folders;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.platform.commons.PreconditionViolationException;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.junit.jupiter.api.Named.named;
+
+class CaseLinesSourceArgumentsProviderTest {
+
+    @Test
+    void bindsJsonFieldsByName() throws NoSuchMethodException {
+        List<Object[]> arguments = provide(TestClass.class.getMethod("json", String.class, int.class, List.class));
+
+        assertThat(arguments).usingRecursiveFieldByFieldElementComparator().containsExactly(
+                array("Kiki", 13, List.of("Sakamoto", "Lily")),
+                array("Nano", 20, List.of("Jiji")),
+                array(null, 2, List.of()));
+    }
+
+    @Test
+    void namedByField() throws NoSuchMethodException {
+        List<Object[]> arguments = provide(TestClass.class.getMethod("jsonNamed", int.class));
+
+        assertThat(arguments).usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(array(named("Jiji", 13)), array(named("Sakamoto", 20)), array(named("Luna", 2)));
+    }
+
+    @Test
+    void jsonArgumentGetsFieldJson() throws NoSuchMethodException {
+        List<Object[]> arguments = provide(TestClass.class.getMethod("jsonArgument", Map.class));
+
+        assertThat(arguments.get(0)).containsExactly("[\"Sakamoto\",\"Lily\"]");
+    }
+
+    @Test
+    void bindsCsvColumnsAsStrings() throws NoSuchMethodException {
+        List<Object[]> arguments = provide(TestClass.class.getMethod("csv", String.class, String.class));
+
+        assertThat(arguments).containsExactly(array("Jiji", "13"), array("Sakamoto", "20"));
+    }
+
+    @Test
+    void parsesQuotedCsv() {
+        assertThat(CaseLinesSourceArgumentsProvider.parseCsv("a,\"b, c\",\"d \"\"e\"\"\",,"))
+                .containsExactly("a", "b, c", "d \"e\"", "", "");
+    }
+
+    @Test
+    void rejectsUnknownFormat() throws NoSuchMethodException {
+        assertThatExceptionOfType(PreconditionViolationException.class)
+                .isThrownBy(() -> provide(TestClass.class.getMethod("unknownFormat", String.class)));
+    }
+
+    private static List<Object[]> provide(Method method) {
+        ExtensionContext context = TestUtils.extensionContext(TestClass.class, method);
+        CaseLinesSourceArgumentsProvider provider = new CaseLinesSourceArgumentsProvider();
+        provider.accept(method.getAnnotation(CaseLinesSource.class));
+        try (Stream<? extends Arguments> arguments = provider.provideArguments(context)) {
+            return arguments.map(Arguments::get).collect(Collectors.toList());
+        }
+    }
+
+    private static Object[] array(Object... objects) {
+        return objects;
+    }
+
+    private abstract static class TestClass {
+        @CaseLinesSource(file = "/examples/cat_lines/cats.ndjson")
+        public abstract void json(@CaseField("owner") String owner, @CaseField("age") int age,
+                                  @CaseField("friends") List<String> friends);
+
+        @CaseLinesSource(file = "/examples/cat_lines/cats.ndjson", nameField = "name")
+        public abstract void jsonNamed(@CaseField("age") int age);
+
+        @CaseLinesSource(file = "/examples/cat_lines/cats.ndjson")
+        public abstract void jsonArgument(@CaseField("friends") @JsonArgument Map<String, Object> friends);
+
+        @CaseLinesSource(file = "/examples/cat_lines/cats.csv")
+        public abstract void csv(@CaseField("name") String name, @CaseField("age") String age);
+
+        @CaseLinesSource(file = "/examples/cat_shelter/jiji/cat.json")
+        public abstract void unknownFormat(@CaseField("name") String name);
+    }
+}
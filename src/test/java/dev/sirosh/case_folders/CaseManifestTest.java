@@ -0,0 +1,157 @@
+package dev.sirosh.case_folders;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.platform.testkit.engine.EngineTestKit;
+import org.junit.platform.testkit.engine.Events;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+class CaseManifestTest {
+    private static final String METHOD = "Test#test()";
+    private static final String CLASS_HASH = "class";
+
+    @Test
+    void passedCaseUnchanged(@TempDir Path root) throws IOException {
+        Path first = caseFolder(root, "first", "first cat");
+        Path second = caseFolder(root, "second", "second cat");
+        CaseManifest manifest = new CaseManifest(root.resolve("manifest"));
+        manifest.executed(METHOD, CLASS_HASH, first, true);
+        manifest.executed(METHOD, CLASS_HASH, second, false);
+
+        assertThat(manifest.changed(METHOD, CLASS_HASH, List.of(first, second))).containsExactly(second);
+        assertThat(manifest.changed("Other#test()", CLASS_HASH, List.of(first, second))).containsExactly(first, second);
+        assertThat(manifest.changed(METHOD, "changed class", List.of(first, second))).containsExactly(first, second);
+    }
+
+    @Test
+    void changedContent(@TempDir Path root) throws IOException {
+        Path first = caseFolder(root, "first", "first cat");
+        CaseManifest manifest = new CaseManifest(root.resolve("manifest"));
+        manifest.executed(METHOD, CLASS_HASH, first, true);
+
+        Files.writeString(first.resolve("cat"), "first dog");
+        touch(first.resolve("cat"));
+
+        assertThat(manifest.unchanged(METHOD, CLASS_HASH, first)).isFalse();
+    }
+
+    @Test
+    void touchedButSameContent(@TempDir Path root) throws IOException {
+        Path first = caseFolder(root, "first", "first cat");
+        CaseManifest manifest = new CaseManifest(root.resolve("manifest"));
+        manifest.executed(METHOD, CLASS_HASH, first, true);
+
+        touch(first.resolve("cat"));
+
+        assertThat(manifest.unchanged(METHOD, CLASS_HASH, first)).isTrue();
+    }
+
+    @Test
+    void savedOnClose(@TempDir Path root) throws IOException {
+        Path first = caseFolder(root, "first", "first cat");
+        Path file = root.resolve("manifest");
+        CaseManifest manifest = new CaseManifest(file);
+        manifest.executed(METHOD, CLASS_HASH, first, true);
+        manifest.close();
+
+        assertThat(new CaseManifest(file).unchanged(METHOD, CLASS_HASH, first)).isTrue();
+    }
+
+    @Test
+    void methodHashFollowsSharedFiles(@TempDir Path root) throws IOException {
+        Path first = caseFolder(root, "first", "first cat");
+        Path common = Files.writeString(root.resolve("common"), "common");
+        CaseManifest manifest = new CaseManifest(root.resolve("manifest"));
+        String methodHash = manifest.methodHash(CLASS_HASH, List.of(common));
+        manifest.executed(METHOD, methodHash, first, true);
+
+        assertThat(manifest.methodHash(CLASS_HASH, List.of(common))).isEqualTo(methodHash)
+                .isNotEqualTo(manifest.methodHash(CLASS_HASH, List.of()));
+        Files.writeString(common, "changed");
+        touch(common);
+
+        assertThat(manifest.unchanged(METHOD, manifest.methodHash(CLASS_HASH, List.of(common)), first)).isFalse();
+        assertThat(manifest.methodHash(CLASS_HASH, List.of(root.resolve("missing")))).isNull();
+    }
+
+    @Test
+    void classHashFollowsBytecode() {
+        CaseManifest manifest = new CaseManifest(Path.of("not saved"));
+
+        assertThat(manifest.classHash(Cases.class)).isNotNull()
+                .isEqualTo(manifest.classHash(Cases.class))
+                .isNotEqualTo(manifest.classHash(CaseManifestTest.class));
+    }
+
+    @Test
+    void secondRunSkipsPassedCases(@TempDir Path root) {
+        String manifest = root.resolve("manifest").toString();
+
+        run(manifest).assertStatistics(stats -> stats.started(2).succeeded(2).skipped(0));
+        run(manifest).assertStatistics(stats -> stats.started(0).skipped(1));
+    }
+
+    @Test
+    void caseFailedInAfterEachRunsAgain(@TempDir Path root) {
+        String manifest = root.resolve("manifest").toString();
+
+        run(manifest, FailingAfterEach.class).assertStatistics(stats -> stats.started(2).succeeded(1).failed(1));
+        run(manifest, FailingAfterEach.class).assertStatistics(stats -> stats.started(1).failed(1));
+    }
+
+    private static Events run(String manifest) {
+        return run(manifest, Cases.class);
+    }
+
+    private static Events run(String manifest, Class<?> testClass) {
+        return EngineTestKit.engine("junit-jupiter")
+                .configurationParameter(CaseFolderConfiguration.INCREMENTAL, manifest)
+                .selectors(selectClass(testClass))
+                .execute()
+                .testEvents();
+    }
+
+    private static Path caseFolder(Path root, String name, String cat) throws IOException {
+        Path caseFolder = Files.createDirectory(root.resolve(name));
+        Files.writeString(caseFolder.resolve("cat"), cat);
+        return caseFolder;
+    }
+
+    private static void touch(Path file) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+    }
+
+    static class Cases {
+        @ParameterizedTest
+        @CaseFolderSource(folder = "/test_cat_and_dog")
+        void cats(@CaseFile(file = "cat") String cat) {
+            assertThat(cat).endsWith("cats");
+        }
+    }
+
+    static class FailingAfterEach {
+        private String cat;
+
+        @ParameterizedTest
+        @CaseFolderSource(folder = "/test_cat_and_dog")
+        void cats(@CaseFile(file = "cat") String cat) {
+            this.cat = cat;
+        }
+
+        @AfterEach
+        void notMine() {
+            assertThat(cat).isNotEqualTo("my cats");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package dev.sirosh.case_folders;
+
+import dev.sirosh.case_folders.classpath_utils.DefaultPathProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class CasePrefetcherTest {
+
+    @Test
+    void keepsDiscoveryOrder(@TempDir Path root) throws Exception {
+        List<Path> caseFolders = caseFolders(root, 100);
+
+        try (Stream<BoundCase> boundCases = CasePrefetcher.prefetch(caseFolders.stream(), plan(), 8, context())) {
+            assertThat(boundCases.map(boundCase -> boundCase.getArguments()[0]))
+                    .containsExactlyElementsOf(IntStream.range(0, 100).mapToObj(i -> "case " + i)
+                            .collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void rethrowsBindingFailure(@TempDir Path root) throws Exception {
+        List<Path> caseFolders = caseFolders(root, 3);
+        Files.delete(caseFolders.get(1).resolve("input"));
+
+        try (Stream<BoundCase> boundCases = CasePrefetcher.prefetch(caseFolders.stream(), plan(), 2, context())) {
+            assertThatExceptionOfType(RuntimeException.class)
+                    .isThrownBy(() -> boundCases.collect(Collectors.toList()))
+                    .withMessageContaining("I/O error while reading");
+        }
+    }
+
+    private static List<Path> caseFolders(Path root, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            Path caseFolder = Files.createDirectory(root.resolve(String.format("case%03d", i)));
+            Files.writeString(caseFolder.resolve("input"), "case " + i);
+        }
+        try (Stream<Path> list = Files.list(root)) {
+            return list.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static ExtensionContext context() throws NoSuchMethodException {
+        return TestUtils.extensionContext(TestClass.class, method());
+    }
+
+    private static ParameterBindingPlan plan() throws NoSuchMethodException {
+        return ParameterBindingPlan.compile(method(), DefaultPathProvider.getInstance(), context());
+    }
+
+    private static Method method() throws NoSuchMethodException {
+        return TestClass.class.getMethod("test", String.class);
+    }
+
+    private abstract static class TestClass {
+        public abstract void test(@CaseFile(file = "input") String input);
+    }
+}
@@ -0,0 +1,83 @@
+package dev.sirosh.case_folders;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.platform.commons.PreconditionViolationException;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.junit.platform.testkit.engine.EngineTestKit;
+import org.junit.platform.testkit.engine.Events;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+class CaseShardTest {
+
+    @Test
+    void everyCaseBelongsToExactlyOneShard() {
+        List<Path> caseFolders = IntStream.range(0, 1000)
+                .mapToObj(i -> Path.of("/cases", "case_" + i))
+                .collect(Collectors.toList());
+        int count = 16;
+
+        for (Path caseFolder : caseFolders) {
+            assertThat(IntStream.range(0, count).filter(index -> new CaseShard(index, count).contains(caseFolder)))
+                    .hasSize(1);
+        }
+        for (int index = 0; index < count; index++) {
+            CaseShard shard = new CaseShard(index, count);
+            assertThat(caseFolders.stream().filter(shard::contains).count()).isBetween(40L, 85L);
+        }
+    }
+
+    @Test
+    void assignmentDependsOnlyOnFolderName() {
+        CaseShard shard = new CaseShard(3, 7);
+
+        assertThat(shard.contains(Path.of("/first/root/case")))
+                .isEqualTo(shard.contains(Path.of("/second/root/case")));
+    }
+
+    @Test
+    void emptyShardIsSkipped() {
+        int count = 8;
+        long executed = 0;
+        for (int index = 0; index < count; index++) {
+            EngineExecutionResults results = EngineTestKit.engine("junit-jupiter")
+                    .configurationParameter(CaseFolderConfiguration.SHARD_COUNT, String.valueOf(count))
+                    .configurationParameter(CaseFolderConfiguration.SHARD_INDEX, String.valueOf(index))
+                    .selectors(selectClass(Cases.class))
+                    .execute();
+
+            results.allEvents().assertStatistics(stats -> stats.failed(0));
+            Events tests = results.testEvents();
+            executed += tests.succeeded().count();
+            if (tests.succeeded().count() == 0) {
+                assertThat(tests.skipped().stream()
+                        .map(event -> event.getPayload(String.class).orElse(""))
+                        .collect(Collectors.toList()))
+                        .containsExactly("no cases in shard " + index + "/" + count);
+            }
+        }
+        assertThat(executed).isEqualTo(2);
+    }
+
+    @Test
+    void indexOutsideOfCount() {
+        assertThatThrownBy(() -> new CaseShard(4, 4)).isInstanceOf(PreconditionViolationException.class);
+        assertThatThrownBy(() -> new CaseShard(-1, 4)).isInstanceOf(PreconditionViolationException.class);
+    }
+
+    static class Cases {
+        @ParameterizedTest
+        @CaseFolderSource(folder = "/test_cat_and_dog")
+        void cats(@CaseFile(file = "cat") String cat) {
+            assertThat(cat).endsWith("cats");
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package dev.sirosh.case_folders;
+
+import dev.sirosh.case_folders.classpath_utils.CaseResources;
+import dev.sirosh.case_folders.classpath_utils.ConverterSettings;
+import dev.sirosh.case_folders.classpath_utils.FileConverter;
+import dev.sirosh.case_folders.jfr.FileConversionEvent;
+import dev.sirosh.case_folders.jfr.JsonConversionEvent;
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FlightRecorderEventsTest {
+
+    @Test
+    void fileConversionRecorded(@TempDir Path folder) throws Exception {
+        Path file = Files.writeString(folder.resolve("cat"), "meme cats");
+        Parameter parameter = parameter("text", String.class);
+
+        List<RecordedEvent> events = record(folder, FileConversionEvent.class, () ->
+                FileConverter.fileConverter(parameter, ConverterSettings.DEFAULT).convert(file, new CaseResources()));
+
+        assertThat(events)
+                .extracting(event -> event.getString("path"), event -> event.getLong("bytes"),
+                        event -> event.getString("targetType"))
+                .containsExactly(tuple(file.toString(), 9L, String.class.getName()));
+    }
+
+    @Test
+    void compressedFileConversionRecordedAsDecompressed(@TempDir Path folder) throws Exception {
+        Path compressed = folder.resolve("cat.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+            out.write("meme cats".getBytes(StandardCharsets.UTF_8));
+        }
+        Parameter parameter = parameter("text", String.class);
+
+        List<RecordedEvent> events = record(folder, FileConversionEvent.class, () ->
+                FileConverter.fileConverter(parameter, ConverterSettings.DEFAULT)
+                        .convert(folder.resolve("cat"), new CaseResources()));
+
+        assertThat(events)
+                .extracting(event -> event.getString("path"), event -> event.getLong("bytes"))
+                .containsExactly(tuple(compressed.toString(), 9L));
+    }
+
+    @Test
+    void jsonConversionRecorded(@TempDir Path folder) throws Exception {
+        String json = "{\"name\": \"kočka\"}";
+        Path file = Files.writeString(folder.resolve("case.json"), json);
+        long bytes = json.getBytes(StandardCharsets.UTF_8).length;
+        Parameter parameter = parameter("json", Map.class);
+        ParameterContext context = mock();
+        when(context.getParameter()).thenReturn(parameter);
+
+        List<RecordedEvent> events = record(folder, JsonConversionEvent.class, () -> {
+            JsonArgumentConverter.readValue(file, parameter.getParameterizedType());
+            new JsonArgumentConverter().convert(json, context);
+        });
+
+        assertThat(bytes).isGreaterThan(json.length());
+        assertThat(events)
+                .extracting(event -> event.getString("path"), event -> event.getLong("bytes"),
+                        event -> event.getString("targetType"))
+                .containsExactly(
+                        tuple(file.toString(), bytes, "java.util.Map<java.lang.String, java.lang.Object>"),
+                        tuple("", bytes, "java.util.Map<java.lang.String, java.lang.Object>"));
+    }
+
+    @Test
+    void bundleJsonConversionRecordedWithBundlePath(@TempDir Path folder) throws Exception {
+        byte[] json = "{\"name\": \"kočka\"}".getBytes(StandardCharsets.UTF_8);
+        Path path = folder.resolve("cats.bundle/jiji/case.json");
+        Parameter parameter = parameter("json", Map.class);
+
+        List<RecordedEvent> events = record(folder, JsonConversionEvent.class, () ->
+                JsonArgumentConverter.readValue(new JsonArgumentConverter.BundleFile(path, ByteBuffer.wrap(json)),
+                        parameter.getParameterizedType()));
+
+        assertThat(events)
+                .extracting(event -> event.getString("path"), event -> event.getLong("bytes"))
+                .containsExactly(tuple(path.toString(), (long) json.length));
+    }
+
+    @Test
+    void stringSizeCountedAsUtf8() {
+        for (String value : new String[]{"", "cat", "kočka", "кошка", "猫", "cat 🐱"}) {
+            assertThat(FileConverter.utf8Length(value))
+                    .describedAs(value)
+                    .isEqualTo(value.getBytes(StandardCharsets.UTF_8).length);
+        }
+    }
+
+    private static List<RecordedEvent> record(Path folder, Class<? extends Event> eventType,
+                                              Conversion conversion) throws Exception {
+        Path dump = folder.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventType).withoutThreshold();
+            recording.start();
+            conversion.run();
+            recording.stop();
+            recording.dump(dump);
+        }
+        String name = eventType.getAnnotation(Name.class).value();
+        return RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+    }
+
+    private static Parameter parameter(String name, Class<?> type) throws NoSuchMethodException {
+        Method method = Parameters.class.getDeclaredMethod(name, type);
+        return method.getParameters()[0];
+    }
+
+    private interface Conversion {
+        void run() throws Exception;
+    }
+
+    @SuppressWarnings("unused")
+    private static class Parameters {
+        void text(String text) {
+        }
+
+        void json(Map<String, Object> json) {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package dev.sirosh.case_folders;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentest4j.AssertionFailedError;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class GoldenFilesTest {
+
+    @Test
+    void matchingOutput(@TempDir Path folder) throws IOException {
+        String content = "line\n".repeat(50_000);
+        Path expected = Files.writeString(folder.resolve("expected"), content);
+        Path actual = Files.writeString(folder.resolve("actual"), content);
+
+        assertThatCode(() -> GoldenFiles.assertMatches(expected, actual)).doesNotThrowAnyException();
+        assertThatCode(() -> GoldenFiles.assertMatches(expected, stream(content))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void reportsFirstMismatchWithContext(@TempDir Path folder) throws IOException {
+        Path expected = Files.writeString(folder.resolve("expected"), "first line\nsecond line\nthird line\n");
+
+        assertThatExceptionOfType(AssertionFailedError.class)
+                .isThrownBy(() -> GoldenFiles.assertMatches(expected, stream("first line\nsecond lime\nthird lime\n")))
+                .withMessageContaining("at byte 20 (line 2, column 10)")
+                .withMessageContaining("expected: \"first line\\nsecond li[>]ne\\nthird line\\n\"")
+                .withMessageContaining("actual:   \"first line\\nsecond li[>]me\\nthird lime\\n\"");
+    }
+
+    @Test
+    void reportsMismatchAfterChunkBoundary(@TempDir Path folder) throws IOException {
+        String prefix = "x".repeat(GoldenFiles.CHUNK);
+        Path expected = Files.writeString(folder.resolve("expected"), prefix + "expected");
+
+        assertThatExceptionOfType(AssertionFailedError.class)
+                .isThrownBy(() -> GoldenFiles.assertMatches(expected, stream(prefix + "actual")))
+                .withMessageContaining("at byte " + GoldenFiles.CHUNK + " (line 1, column " + (GoldenFiles.CHUNK + 1) + ")")
+                .withMessageContaining("xxxxxxxx[>]expected\"")
+                .withMessageContaining("xxxxxxxx[>]actual\"");
+    }
+
+    @Test
+    void reportsShorterAndLongerOutput(@TempDir Path folder) throws IOException {
+        Path expected = Files.writeString(folder.resolve("expected"), "meme cats");
+
+        assertThatExceptionOfType(AssertionFailedError.class)
+                .isThrownBy(() -> GoldenFiles.assertMatches(expected, stream("meme")))
+                .withMessageContaining("at byte 4")
+                .withMessageContaining("actual:   \"meme[>]<end>\"");
+        assertThatExceptionOfType(AssertionFailedError.class)
+                .isThrownBy(() -> GoldenFiles.assertMatches(expected, stream("meme cats and dogs")))
+                .withMessageContaining("at byte 9")
+                .withMessageContaining("expected: \"meme cats[>]<end>\"");
+    }
+
+    @Test
+    void compressedExpectedFile(@TempDir Path folder) throws IOException {
+        Path expected = folder.resolve("expected.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(expected))) {
+            out.write("meme cats".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThatCode(() -> GoldenFiles.assertMatches(expected, stream("meme cats"))).doesNotThrowAnyException();
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
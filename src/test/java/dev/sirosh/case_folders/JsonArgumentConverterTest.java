@@ -3,18 +3,22 @@ package dev.sirosh.case_folders;
 import com.fasterxml.jackson.core.type.TypeReference;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.converter.ArgumentConversionException;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Parameter;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.URI;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
@@ -35,6 +39,7 @@ import java.util.Arrays;
 import java.util.Currency;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -53,6 +58,10 @@ class JsonArgumentConverterTest {
     }, null);
     assertConverts(null, new TypeReference<Boolean>() {
     }, null);
+    assertConverts(null, new TypeReference<List<Enigma>>() {
+    }, null);
+    assertConverts(null, new TypeReference<String[]>() {
+    }, null);
   }
 
   @Test
@@ -62,6 +71,13 @@ class JsonArgumentConverterTest {
         .withMessage("The argument should be a string: 12");
   }
 
+  @Test
+  void throwsExceptionForByteBufferInput() {
+    assertThatExceptionOfType(ArgumentConversionException.class) //
+        .isThrownBy(() -> convert(ByteBuffer.wrap("{}".getBytes(StandardCharsets.UTF_8)), Object.class)) //
+        .withMessageStartingWith("The argument should be a string: ");
+  }
+
   @Test
   void isAwareOfWrapperTypesForPrimitiveTypes() {
     assertConverts("true", boolean.class, true);
@@ -119,6 +135,16 @@ class JsonArgumentConverterTest {
     }, Set.of(new Enigma("enigma")));
   }
 
+  @Test
+  void genericConversion() {
+    assertConverts("{\"first\":[\"enigma\"]}", new TypeReference<Map<String, List<String>>>() {
+    }, Map.of("first", List.of("enigma")));
+    assertConverts("[[\"enigma\"]]", new TypeReference<List<? extends List<String>>>() {
+    }, List.of(List.of("enigma")));
+    assertConverts("[[\"foo\"]]", new TypeReference<List<String>[]>() {
+    }, new List<?>[] { List.of("foo") });
+  }
+
   @Test
   void arrayConversion() {
     assertConverts("[\"foo\", \"buz\"]", new TypeReference<String[]>() {
@@ -142,6 +168,35 @@ class JsonArgumentConverterTest {
         .isEqualTo(expected);
   }
 
+  @Test
+  void fileConversion(@TempDir Path folder) throws IOException {
+    Path file = Files.writeString(folder.resolve("enigma.json"), "[{\"name\":\"enigma\"}]");
+
+    assertConverts(file, new TypeReference<>() {
+    }, List.of(new Enigma("enigma")));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "enigma.smile", "enigma.cbor" })
+  void binaryFileConversion(String name, @TempDir Path folder) throws IOException {
+    Path json = Files.writeString(folder.resolve("enigma.json"), "[{\"name\":\"enigma\"}]");
+    Path file = folder.resolve(name);
+    JsonFixtures.convert(json, file);
+
+    assertThat(Files.readAllBytes(file)).isNotEqualTo(Files.readAllBytes(json));
+    assertConverts(file, new TypeReference<>() {
+    }, List.of(new Enigma("enigma")));
+  }
+
+  @Test
+  void throwsExceptionOnInvalidFile(@TempDir Path folder) throws IOException {
+    Path file = Files.writeString(folder.resolve("enigma.json"), "{");
+
+    assertThatExceptionOfType(ArgumentConversionException.class) //
+        .isThrownBy(() -> convert(file, Enigma.class)) //
+        .withMessageStartingWith("Failed to convert file " + file + " to type ");
+  }
+
   @Test
   void convertsStringsToEnumConstants() {
     assertConverts("\"DAYS\"", TimeUnit.class, TimeUnit.DAYS);
@@ -247,7 +302,7 @@ class JsonArgumentConverterTest {
         .isEqualTo(expectedOutput);
   }
 
-  @SuppressWarnings("unchecked cast")
+  @SuppressWarnings("unchecked")
   private <T> void assertConverts(Object input, TypeReference<Iterable<T>> type, Iterable<T> expectedOutput) {
     var result = (Iterable<T>) convert(input, type);
 
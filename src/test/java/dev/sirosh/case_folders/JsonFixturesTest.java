@@ -0,0 +1,63 @@
+package dev.sirosh.case_folders;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class JsonFixturesTest {
+
+    @Test
+    void convertsJsonFilesOfFolders(@TempDir Path folder) throws IOException {
+        Files.createDirectories(folder.resolve("jiji"));
+        Files.writeString(folder.resolve("jiji/cat.json"), "{\"name\":\"Jiji\",\"lives\":9}");
+        Files.writeString(folder.resolve("jiji/expected"), "black");
+
+        assertThat(JsonFixtures.convertAll(folder, "smile")).containsExactly(folder.resolve("jiji/cat.smile"));
+
+        assertThat(folder.resolve("jiji/cat.json")).exists();
+        assertThat(folder.resolve("jiji/expected.smile")).doesNotExist();
+        Map<?, ?> cat = (Map<?, ?>) JsonArgumentConverter.readValue(folder.resolve("jiji/cat.smile"), Map.class);
+        assertThat(cat).isEqualTo(Map.of("name", "Jiji", "lives", 9));
+    }
+
+    @Test
+    void refusesToOverwriteFixtures(@TempDir Path folder) throws IOException {
+        String json = "{\"name\":\"Jiji\",\"lives\":9}";
+        Path cat = Files.writeString(folder.resolve("cat.json"), json);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> JsonFixtures.convertAll(folder, "json"));
+        assertThatIllegalArgumentException().isThrownBy(() -> JsonFixtures.convert(cat, cat));
+        assertThat(cat).hasContent(json);
+    }
+
+    @Test
+    void picksFormatByExtension() {
+        assertThat(JsonFormat.of(Path.of("cat.smile"))).isEqualTo(JsonFormat.SMILE);
+        assertThat(JsonFormat.of(Path.of("cat.cbor"))).isEqualTo(JsonFormat.CBOR);
+        assertThat(JsonFormat.of(Path.of("cat.json"))).isEqualTo(JsonFormat.JSON);
+        assertThat(JsonFormat.of(Path.of("cat"))).isEqualTo(JsonFormat.JSON);
+    }
+
+    @Test
+    void readsCompressedVariantInFormatOfMissingFile(@TempDir Path folder) throws IOException {
+        Files.writeString(folder.resolve("cat.json"), "{\"name\":\"Jiji\"}");
+        JsonFixtures.convertAll(folder, "smile");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(folder.resolve("cat.smile.gz")))) {
+            Files.copy(folder.resolve("cat.smile"), out);
+        }
+        Files.delete(folder.resolve("cat.smile"));
+
+        Map<?, ?> cat = (Map<?, ?>) JsonArgumentConverter.readValue(folder.resolve("cat.smile"), Map.class);
+
+        assertThat(cat).isEqualTo(Map.of("name", "Jiji"));
+    }
+}
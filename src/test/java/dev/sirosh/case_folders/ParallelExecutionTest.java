@@ -0,0 +1,111 @@
+package dev.sirosh.case_folders;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+class ParallelExecutionTest {
+    private static final int CASES = 1000;
+    private static final String ROOT = "/parallel_cases";
+
+    private static Path root;
+
+    @BeforeAll
+    static void createCases() throws URISyntaxException, IOException {
+        root = Path.of(ParallelExecutionTest.class.getResource("/").toURI()).resolve(ROOT.substring(1));
+        for (int i = 0; i < CASES; i++) {
+            Path caseFolder = Files.createDirectories(root.resolve("case_" + i));
+            Files.writeString(caseFolder.resolve("name"), caseFolder.getFileName().toString());
+            Files.writeString(caseFolder.resolve("case.json"), "{\"name\": \"" + caseFolder.getFileName() + "\"}");
+        }
+        Files.writeString(root.resolve("common"), "common");
+    }
+
+    @AfterAll
+    static void deleteCases() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    void casesOfOneMethodRunConcurrently() {
+        Cases.THREADS.clear();
+
+        EngineTestKit.engine("junit-jupiter")
+                .configurationParameter("junit.jupiter.execution.parallel.enabled", "true")
+                .configurationParameter("junit.jupiter.execution.parallel.config.strategy", "fixed")
+                .configurationParameter("junit.jupiter.execution.parallel.config.fixed.parallelism", "16")
+                .configurationParameter(CaseFolderConfiguration.CACHE_BUDGET, "65536")
+                .selectors(selectClass(Cases.class))
+                .execute()
+                .testEvents()
+                .assertStatistics(stats -> stats.started(5 * CASES).succeeded(5 * CASES));
+        assertThat(Cases.THREADS).hasSizeGreaterThan(1);
+    }
+
+    @Execution(ExecutionMode.CONCURRENT)
+    static class Cases {
+        static final Set<String> THREADS = ConcurrentHashMap.newKeySet();
+
+        @ParameterizedTest
+        @CaseFolderSource(folder = ROOT)
+        void string(@CaseFolder Path caseFolder, @CaseFile(file = "name") String name) {
+            assertCase(caseFolder, name);
+        }
+
+        @ParameterizedTest
+        @CaseFolderSource(folder = ROOT, prefetch = 8)
+        void buffer(@CaseFolder Path caseFolder, @CaseFile(file = "name") ByteBuffer name) {
+            assertCase(caseFolder, StandardCharsets.UTF_8.decode(name).toString());
+        }
+
+        @ParameterizedTest
+        @CaseFolderSource(folder = ROOT, lazyDiscovery = true)
+        void lazy(@CaseFolder Path caseFolder, @CaseFile(file = "name") Supplier<String> name) {
+            assertCase(caseFolder, name.get());
+        }
+
+        @ParameterizedTest
+        @CaseFolderSource(folder = ROOT)
+        void json(@CaseFolder Path caseFolder, @CaseFile(file = "case.json") @JsonArgument Map<String, String> json) {
+            assertCase(caseFolder, json.get("name"));
+        }
+
+        @ParameterizedTest
+        @CaseFolderSource(folder = ROOT)
+        void absolute(@CaseFolder Path caseFolder, @CaseFile(file = "name") byte[] name,
+                      @CaseFile(file = ROOT + "/common", absolute = true) String common) {
+            assertCase(caseFolder, new String(name, StandardCharsets.UTF_8));
+            assertThat(common).isEqualTo("common");
+        }
+
+        private static void assertCase(Path caseFolder, String name) {
+            THREADS.add(Thread.currentThread().getName());
+            assertThat(name).isEqualTo(caseFolder.getFileName().toString());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package dev.sirosh.case_folders;
+
+import dev.sirosh.case_folders.classpath_utils.CaseResources;
+import dev.sirosh.case_folders.classpath_utils.DefaultPathProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.commons.PreconditionViolationException;
+
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ParameterBindingPlanTest {
+
+    @Test
+    void bindsEveryCaseWithSamePlan() throws NoSuchMethodException, URISyntaxException {
+        Method method = TestClass.class.getMethod("testCats", Path.class, String.class, String.class);
+        ParameterBindingPlan plan = compile(method);
+        Path casePath = Path.of(TestClass.class.getResource("/test_cat_and_dog").toURI());
+
+        assertThat(plan.bind(casePath.resolve("meme"), new CaseResources()))
+                .containsExactly(casePath.resolve("meme"), "meme cats", "common info about test");
+        assertThat(plan.bind(casePath.resolve("mine"), new CaseResources()))
+                .containsExactly(casePath.resolve("mine"), "my cats", "common info about test");
+        assertThat(plan.absoluteFiles()).containsExactly(casePath.resolve("common"));
+    }
+
+    @Test
+    void bindsCompressedFileWhenPlainIsMissing(@TempDir Path caseFolder) throws Exception {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(caseFolder.resolve("cat.gz")))) {
+            out.write("gzip cats".getBytes(StandardCharsets.UTF_8));
+        }
+        Method method = TestClass.class.getMethod("testCats", String.class);
+
+        assertThat(compile(method).bind(caseFolder, new CaseResources())).containsExactly("gzip cats");
+    }
+
+    @Test
+    void bindsNamedCompressedFileAsItIs(@TempDir Path caseFolder) throws Exception {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(caseFolder.resolve("payload.gz")))) {
+            out.write("gzip payload".getBytes(StandardCharsets.UTF_8));
+        }
+        Method method = TestClass.class.getMethod("testPayload", byte[].class);
+
+        assertThat(compile(method).bind(caseFolder, new CaseResources()))
+                .containsExactly((Object) Files.readAllBytes(caseFolder.resolve("payload.gz")));
+    }
+
+    @Test
+    void rejectsConflictingAnnotationsBeforeFirstCase() throws NoSuchMethodException {
+        Method method = TestClass.class.getMethod("testConflict", Path.class);
+
+        assertThatExceptionOfType(PreconditionViolationException.class)
+                .isThrownBy(() -> compile(method))
+                .withMessageContaining("conflicting annotations @CaseFolder and @CaseFile");
+    }
+
+    @Test
+    void rejectsNotAnnotatedParameter() throws NoSuchMethodException {
+        Method method = TestClass.class.getMethod("testNotAnnotated", String.class);
+
+        assertThatExceptionOfType(PreconditionViolationException.class)
+                .isThrownBy(() -> compile(method))
+                .withMessage("No @CaseFile annotation found on parameter 0");
+    }
+
+    @Test
+    void rejectsLazyJsonArgument() throws NoSuchMethodException {
+        Method method = TestClass.class.getMethod("testLazyJson", Supplier.class);
+
+        assertThatExceptionOfType(PreconditionViolationException.class)
+                .isThrownBy(() -> compile(method))
+                .withMessageContaining("@JsonArgument parameter")
+                .withMessageContaining("can't be Supplier");
+    }
+
+    private static ParameterBindingPlan compile(Method method) {
+        ExtensionContext context = TestUtils.extensionContext(TestClass.class, method);
+        return ParameterBindingPlan.compile(method, DefaultPathProvider.getInstance(), context);
+    }
+
+    private abstract static class TestClass {
+        public abstract void testCats(@CaseFolder Path casePath, @CaseFile(file = "cat") String cat,
+                                      @CaseFile(file = "/test_cat_and_dog/common", absolute = true) String common);
+
+        public abstract void testCats(@CaseFile(file = "cat") String cat);
+
+        public abstract void testPayload(@CaseFile(file = "payload.gz") byte[] payload);
+
+        public abstract void testConflict(@CaseFolder @CaseFile(file = "cat") Path cat);
+
+        public abstract void testNotAnnotated(String cat);
+
+        public abstract void testLazyJson(@CaseFile(file = "cat.json") @JsonArgument Supplier<Map<String, String>> cat);
+    }
+}
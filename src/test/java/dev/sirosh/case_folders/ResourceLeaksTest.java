@@ -0,0 +1,95 @@
+package dev.sirosh.case_folders;
+
+import dev.sirosh.case_folders.classpath_utils.CaseResources;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+class ResourceLeaksTest {
+
+    @Test
+    void countsStreamsLeftOpenByInvocations() throws Exception {
+        ResourceLeaks leaks = ResourceLeaks.getInstance(TestUtils.extensionContext(ResourceLeaksTest.class, null));
+
+        for (int i = 0; i < 3; i++) {
+            CaseResources resources = new CaseResources();
+            InputStream closed = resources.trackStream(new ByteArrayInputStream(new byte[1]));
+            resources.trackStream(new ByteArrayInputStream(new byte[1]));
+            closed.close();
+            leaks.release(resources);
+        }
+
+        assertThat(leaks.leaked()).isEqualTo(3);
+    }
+
+    @Test
+    void releasingTwiceCountsOnce() throws Exception {
+        ResourceLeaks leaks = ResourceLeaks.getInstance(TestUtils.extensionContext(ResourceLeaksTest.class, null));
+        CaseResources resources = new CaseResources();
+        resources.trackStream(new ByteArrayInputStream(new byte[1]));
+
+        leaks.release(resources);
+        leaks.release(resources);
+
+        assertThat(leaks.leaked()).isEqualTo(1);
+    }
+
+    @Test
+    void countsFieldLeaksAfterEachTest() {
+        LeakingFields.leakedAfterEach.clear();
+
+        EngineTestKit.engine("junit-jupiter")
+                .selectors(selectClass(LeakingFields.class))
+                .execute()
+                .testEvents()
+                .assertStatistics(stats -> stats.succeeded(2).failed(0));
+
+        assertThat(LeakingFields.leakedAfterEach).containsExactly(1L, 2L);
+    }
+
+    /**
+     * registered first, so its afterEach runs after one of {@link CaseFileArgumentsProvider}
+     */
+    static class LeakCounter implements AfterEachCallback {
+        @Override
+        public void afterEach(ExtensionContext context) {
+            LeakingFields.leakedAfterEach.add(ResourceLeaks.getInstance(context).leaked());
+        }
+    }
+
+    @ExtendWith(LeakCounter.class)
+    @ExtendWith(CaseFileArgumentsProvider.class)
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    static class LeakingFields {
+        static final List<Long> leakedAfterEach = new CopyOnWriteArrayList<>();
+
+        @CaseFile(file = "/test_cat_and_dog/meme/cat")
+        private InputStream cat;
+
+        @Test
+        @Order(1)
+        void first() throws IOException {
+            assertThat(cat.read()).isPositive();
+        }
+
+        @Test
+        @Order(2)
+        void second() throws IOException {
+            assertThat(cat.read()).isPositive();
+        }
+    }
+}
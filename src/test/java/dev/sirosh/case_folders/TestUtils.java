@@ -1,16 +1,48 @@
 package dev.sirosh.case_folders;
 
+import org.junit.jupiter.api.extension.ExtensionContext;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 
 public class TestUtils {
 
     public static Comparator<InputStream> inputStreamComparator() {
-        return Comparator.comparing(TestUtils::readInputStream);
+        // streams can be read only once, but comparator is called for every pair of elements
+        Map<InputStream, String> contents = Collections.synchronizedMap(new IdentityHashMap<>());
+        return Comparator.comparing(stream -> contents.computeIfAbsent(stream, TestUtils::readInputStream));
+    }
+
+    public static ExtensionContext extensionContext(Class<?> testClass, Method testMethod) {
+        ExtensionContext root = mock();
+        Map<ExtensionContext.Namespace, ExtensionContext.Store> rootStores = new ConcurrentHashMap<>();
+        doAnswer(invocation -> rootStores.computeIfAbsent(invocation.getArgument(0), namespace -> new TestStore()))
+                .when(root).getStore(any());
+        doReturn(root).when(root).getRoot();
+
+        ExtensionContext context = mock();
+        Map<ExtensionContext.Namespace, ExtensionContext.Store> stores = new ConcurrentHashMap<>();
+        doAnswer(invocation -> stores.computeIfAbsent(invocation.getArgument(0), namespace -> new TestStore()))
+                .when(context).getStore(any());
+        doReturn(root).when(context).getRoot();
+        doReturn(testClass).when(context).getRequiredTestClass();
+        doReturn(testMethod).when(context).getRequiredTestMethod();
+        return context;
     }
 
     public static String readInputStream(InputStream stream) {
@@ -27,4 +59,43 @@ public class TestUtils {
         }
         return out.toString();
     }
+
+    public static class TestStore implements ExtensionContext.Store {
+        private final Map<Object, Object> values = new ConcurrentHashMap<>();
+
+        @Override
+        public Object get(Object key) {
+            return values.get(key);
+        }
+
+        @Override
+        public <V> V get(Object key, Class<V> requiredType) {
+            return requiredType.cast(values.get(key));
+        }
+
+        @Override
+        public <K, V> Object getOrComputeIfAbsent(K key, Function<K, V> defaultCreator) {
+            return values.computeIfAbsent(key, k -> defaultCreator.apply(key));
+        }
+
+        @Override
+        public <K, V> V getOrComputeIfAbsent(K key, Function<K, V> defaultCreator, Class<V> requiredType) {
+            return requiredType.cast(getOrComputeIfAbsent(key, defaultCreator));
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            values.put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return values.remove(key);
+        }
+
+        @Override
+        public <V> V remove(Object key, Class<V> requiredType) {
+            return requiredType.cast(values.remove(key));
+        }
+    }
 }
@@ -0,0 +1,124 @@
+package dev.sirosh.case_folders.classpath_utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.commons.PreconditionViolationException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ArchiveFileSystemsTest {
+
+    @Test
+    void listsCasesInsideArchive(@TempDir Path folder) throws IOException {
+        Path archive = archive(folder.resolve("cases.zip"));
+
+        Path root = ArchiveFileSystems.root(archive).resolve("/orders");
+
+        try (Stream<Path> caseFolders = Files.list(root)) {
+            assertThat(caseFolders.map(caseFolder -> caseFolder.getFileName().toString()).collect(Collectors.toList()))
+                    .containsExactlyInAnyOrder("first", "second");
+        }
+        assertThat(Files.readString(root.resolve("first/order"))).isEqualTo("first order");
+    }
+
+    @Test
+    void archiveOpenedOnce(@TempDir Path folder) throws IOException {
+        Path archive = archive(folder.resolve("cases.zip"));
+
+        assertThat(ArchiveFileSystems.root(archive).getFileSystem())
+                .isSameAs(ArchiveFileSystems.root(folder.resolve("./cases.zip")).getFileSystem());
+    }
+
+    @Test
+    void classpathResourceInsideJar(@TempDir Path folder) throws Exception {
+        Path jar = archive(folder.resolve("cases.jar"));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, null)) {
+            Path root = ArchiveFileSystems.path(classLoader.getResource("orders").toURI());
+
+            assertThat(Files.isDirectory(root)).isTrue();
+            assertThat(Files.readString(root.resolve("second/order"))).isEqualTo("second order");
+        }
+    }
+
+    @Test
+    void bufferReadFromArchiveInsteadOfMapping(@TempDir Path folder) throws Exception {
+        Path file = ArchiveFileSystems.root(archive(folder.resolve("cases.zip"))).resolve("/orders/first/order");
+        CaseResources resources = new CaseResources();
+
+        ByteBuffer buffer = (ByteBuffer) FileConverter.fileConverter(parameter(ByteBuffer.class), new ConverterSettings(0, null))
+                .convert(file, resources);
+
+        assertThat(StandardCharsets.UTF_8.decode(buffer).toString()).isEqualTo("first order");
+        assertThat(resources.isEmpty()).isTrue();
+        assertThatExceptionOfType(PreconditionViolationException.class)
+                .isThrownBy(() -> FileConverter.fileConverter(parameter(MappedByteBuffer.class), ConverterSettings.DEFAULT)
+                        .convert(file, resources));
+    }
+
+    @Test
+    void fileParametersInsideArchiveRejected(@TempDir Path folder) throws Exception {
+        Path caseFolder = ArchiveFileSystems.root(archive(folder.resolve("cases.zip"))).resolve("/orders/first");
+        CaseResources resources = new CaseResources();
+
+        assertThatExceptionOfType(PreconditionViolationException.class)
+                .isThrownBy(() -> FileConverter.folderConverter(parameter(File.class)).convert(caseFolder, resources))
+                .withMessageContaining("@CaseFolder " + parameter(File.class).getName())
+                .withMessageContaining(Path.class.getName());
+        assertThatExceptionOfType(PreconditionViolationException.class)
+                .isThrownBy(() -> FileConverter.fileConverter(parameter(File.class), ConverterSettings.DEFAULT)
+                        .convert(caseFolder.resolve("order"), resources))
+                .withMessageContaining("@CaseFile " + parameter(File.class).getName())
+                .withMessageContaining(InputStream.class.getName());
+    }
+
+    private static Path archive(Path archive) throws IOException {
+        try (OutputStream out = Files.newOutputStream(archive); ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("orders/"));
+            zip.closeEntry();
+            for (String name : new String[]{"first", "second"}) {
+                zip.putNextEntry(new ZipEntry("orders/" + name + "/"));
+                zip.closeEntry();
+                zip.putNextEntry(new ZipEntry("orders/" + name + "/order"));
+                zip.write((name + " order").getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return archive;
+    }
+
+    private static java.lang.reflect.Parameter parameter(Class<?> type) throws NoSuchMethodException {
+        Method method = Parameters.class.getDeclaredMethod("parameter", type);
+        return method.getParameters()[0];
+    }
+
+    @SuppressWarnings("unused")
+    private static class Parameters {
+        void parameter(ByteBuffer buffer) {
+        }
+
+        void parameter(MappedByteBuffer buffer) {
+        }
+
+        void parameter(File file) {
+        }
+    }
+}
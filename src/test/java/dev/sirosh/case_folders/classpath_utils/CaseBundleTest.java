@@ -0,0 +1,140 @@
+package dev.sirosh.case_folders.classpath_utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.commons.PreconditionViolationException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CaseBundleTest {
+    // positions in index of bundle packed by pack(), first case is "first" with single file "cat"
+    private static final int CASE_COUNT = 12;
+    private static final int FIRST_CAT_OFFSET = CASE_COUNT + Integer.BYTES + Short.BYTES + "first".length()
+            + Integer.BYTES + Short.BYTES + "cat".length();
+    private static final int FIRST_CAT_LENGTH = FIRST_CAT_OFFSET + Long.BYTES;
+
+    @Test
+    void packsCasesWithIndex(@TempDir Path folder) throws IOException {
+        Path bundleFile = pack(folder);
+
+        try (CaseBundle bundle = CaseBundle.open(bundleFile)) {
+            assertThat(bundle.caseNames()).containsExactly("first", "second");
+            assertThat(content(bundle.file(bundleFile.resolve("first/cat")))).isEqualTo("first cat");
+            assertThat(content(bundle.file(bundleFile.resolve("second/cat")))).isEqualTo("second cat");
+            assertThat(content(bundle.file(bundleFile.resolve("second/nested/dog")))).isEqualTo("nested dog");
+        }
+    }
+
+    @Test
+    void filesAreSlicesOfMapping(@TempDir Path folder) throws IOException {
+        Path bundleFile = pack(folder);
+
+        try (CaseBundle bundle = CaseBundle.open(bundleFile)) {
+            ByteBuffer cat = bundle.file(bundleFile.resolve("first/cat"));
+
+            assertThat(cat.isDirect()).isTrue();
+            assertThat(cat.isReadOnly()).isTrue();
+            assertThat(cat.remaining()).isEqualTo("first cat".length());
+        }
+    }
+
+    @Test
+    void missingFile(@TempDir Path folder) throws IOException {
+        Path bundleFile = pack(folder);
+
+        try (CaseBundle bundle = CaseBundle.open(bundleFile)) {
+            assertThatExceptionOfType(PreconditionViolationException.class)
+                    .isThrownBy(() -> bundle.file(bundleFile.resolve("first/dog")));
+            assertThatExceptionOfType(PreconditionViolationException.class)
+                    .isThrownBy(() -> bundle.file(bundleFile.resolve("third/cat")));
+        }
+    }
+
+    @Test
+    void recognizedByMagic(@TempDir Path folder) throws IOException {
+        Path bundleFile = pack(folder);
+
+        assertThat(CaseBundle.isBundle(bundleFile)).isTrue();
+        assertThat(CaseBundle.isBundle(folder.resolve("cases/first/cat"))).isFalse();
+        assertThat(CaseBundle.isBundle(folder.resolve("cases"))).isFalse();
+    }
+
+    @Test
+    void readFromArchiveOnHeap(@TempDir Path folder) throws IOException {
+        Path archive = folder.resolve("cases.jar");
+        try (OutputStream out = Files.newOutputStream(archive); ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("cases.bundle"));
+            Files.copy(pack(folder), zip);
+            zip.closeEntry();
+        }
+        Path bundleFile = ArchiveFileSystems.root(archive).resolve("/cases.bundle");
+
+        try (CaseBundle bundle = CaseBundle.open(bundleFile)) {
+            ByteBuffer cat = bundle.file(bundleFile.resolve("first/cat"));
+
+            assertThat(bundle.caseNames()).containsExactly("first", "second");
+            assertThat(cat.isDirect()).isFalse();
+            assertThat(cat.isReadOnly()).isTrue();
+            assertThat(content(cat)).isEqualTo("first cat");
+        }
+    }
+
+    @Test
+    void corruptIndexRejected(@TempDir Path folder) throws IOException {
+        Path bundleFile = pack(folder);
+        byte[] bytes = Files.readAllBytes(bundleFile);
+
+        assertCorrupt(bundleFile, ByteBuffer.wrap(bytes.clone()).putInt(CASE_COUNT, Integer.MAX_VALUE),
+                "case count " + Integer.MAX_VALUE + " doesn't fit");
+        assertCorrupt(bundleFile, ByteBuffer.wrap(bytes.clone()).putInt(CASE_COUNT, -1), "case count -1 doesn't fit");
+        assertCorrupt(bundleFile, ByteBuffer.wrap(bytes.clone()).putLong(FIRST_CAT_OFFSET, -1), "negative offset");
+        assertCorrupt(bundleFile, ByteBuffer.wrap(bytes.clone()).putLong(FIRST_CAT_OFFSET, 0), "overlaps index");
+        assertCorrupt(bundleFile, ByteBuffer.wrap(bytes.clone()).putLong(FIRST_CAT_LENGTH, "first cat".length() + 1),
+                "overlaps previous file");
+        assertCorrupt(bundleFile, ByteBuffer.wrap(bytes.clone()).putLong(FIRST_CAT_LENGTH, Long.MAX_VALUE),
+                "past end of bundle");
+        assertCorrupt(bundleFile, ByteBuffer.wrap(bytes, 0, CASE_COUNT + 2).slice(), "index is truncated");
+    }
+
+    private static void assertCorrupt(Path bundleFile, ByteBuffer contents, String message) throws IOException {
+        try (FileChannel channel = FileChannel.open(bundleFile, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(contents.rewind());
+        }
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> CaseBundle.open(bundleFile))
+                .withMessageContaining("Case bundle " + bundleFile + " is corrupt")
+                .withMessageContaining(message);
+    }
+
+    private static Path pack(Path folder) throws IOException {
+        Path root = folder.resolve("cases");
+        Files.createDirectories(root.resolve("first"));
+        Files.createDirectories(root.resolve("second/nested"));
+        Files.writeString(root.resolve("first/cat"), "first cat");
+        Files.writeString(root.resolve("second/cat"), "second cat");
+        Files.writeString(root.resolve("second/nested/dog"), "nested dog");
+        Files.writeString(root.resolve("common"), "not a case");
+        Path bundle = folder.resolve("cases.bundle");
+        CaseBundle.pack(root, bundle);
+        return bundle;
+    }
+
+    private static String content(ByteBuffer buffer) {
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+}
@@ -0,0 +1,150 @@
+package dev.sirosh.case_folders.classpath_utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.commons.PreconditionViolationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class CompressedFilesTest {
+
+    @Test
+    void compressedVariantOfMissingFile(@TempDir Path folder) throws IOException {
+        Path gzip = gzip(folder.resolve("cat.gz"), "gzip cat");
+        Path deflate = deflate(folder.resolve("dog.deflate"), "deflate dog");
+
+        assertThat(CompressedFiles.compressed(folder.resolve("cat"))).isEqualTo(gzip);
+        assertThat(CompressedFiles.compressed(folder.resolve("dog"))).isEqualTo(deflate);
+        assertThat(CompressedFiles.compressed(folder.resolve("bird"))).isEqualTo(folder.resolve("bird"));
+    }
+
+    @Test
+    void convertsWhileDecompressing(@TempDir Path folder) throws Exception {
+        gzip(folder.resolve("cat.gz"), "gzip cat");
+        deflate(folder.resolve("dog.deflate"), "deflate dog");
+
+        assertThat(convert(String.class, folder.resolve("cat"))).isEqualTo("gzip cat");
+        assertThat(convert(byte[].class, folder.resolve("dog"))).isEqualTo("deflate dog".getBytes(StandardCharsets.UTF_8));
+        try (InputStream in = (InputStream) convert(InputStream.class, folder.resolve("cat"))) {
+            assertThat(in).hasContent("gzip cat");
+        }
+        ByteBuffer buffer = (ByteBuffer) FileConverter.fileConverter(parameter(ByteBuffer.class), new ConverterSettings(0, null))
+                .convert(folder.resolve("dog"), new CaseResources());
+        assertThat(StandardCharsets.UTF_8.decode(buffer).toString()).isEqualTo("deflate dog");
+        assertThat(convert(Path.class, folder.resolve("cat"))).isEqualTo(folder.resolve("cat.gz"));
+    }
+
+    @Test
+    void namedCompressedFileReadAsItIs(@TempDir Path folder) throws Exception {
+        Path gzip = gzip(folder.resolve("payload.gz"), "gzip payload");
+        byte[] raw = Files.readAllBytes(gzip);
+
+        assertThat(convert(byte[].class, gzip)).isEqualTo(raw);
+        try (InputStream in = (InputStream) convert(InputStream.class, gzip)) {
+            assertThat(in.readAllBytes()).isEqualTo(raw);
+        }
+        ByteBuffer buffer = (ByteBuffer) convert(ByteBuffer.class, gzip);
+        assertThat(buffer.remaining()).isEqualTo(raw.length);
+        assertThat(convert(MappedByteBuffer.class, gzip)).isInstanceOf(MappedByteBuffer.class);
+    }
+
+    @Test
+    void cachedDecompressed(@TempDir Path folder) throws Exception {
+        Path gzip = gzip(folder.resolve("cat.gz"), "gzip cat");
+        Path cat = folder.resolve("cat");
+        ConverterSettings settings = new ConverterSettings(ConverterSettings.DEFAULT_MAPPING_THRESHOLD, new FileContentCache(1024));
+
+        assertThat(FileConverter.fileConverter(parameter(String.class), settings).convert(cat, new CaseResources()))
+                .isEqualTo("gzip cat");
+        assertThat(FileConverter.fileConverter(parameter(String.class), settings).convert(cat, new CaseResources()))
+                .isEqualTo("gzip cat");
+        assertThat(settings.getContentCache().hits()).isEqualTo(1);
+        assertThat(FileConverter.fileConverter(parameter(byte[].class), settings).convert(gzip, new CaseResources()))
+                .isEqualTo(Files.readAllBytes(gzip));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void lazyFileFallsBackToCompressed(@TempDir Path folder) throws Exception {
+        gzip(folder.resolve("cat.gz"), "gzip cat");
+
+        Supplier<String> cat = (Supplier<String>) FileConverter.fileConverter(lazyParameter(), ConverterSettings.DEFAULT)
+                .convert(folder.resolve("cat"), new CaseResources());
+
+        assertThat(cat.get()).isEqualTo("gzip cat");
+    }
+
+    @Test
+    void compressedFileIsNotMapped(@TempDir Path folder) throws Exception {
+        gzip(folder.resolve("cat.gz"), "gzip cat");
+
+        assertThatExceptionOfType(PreconditionViolationException.class)
+                .isThrownBy(() -> convert(MappedByteBuffer.class, folder.resolve("cat")));
+    }
+
+    private static Object convert(Class<?> type, Path path) throws NoSuchMethodException {
+        return FileConverter.fileConverter(parameter(type), ConverterSettings.DEFAULT).convert(path, new CaseResources());
+    }
+
+    private static Path gzip(Path path, String content) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(path))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return path;
+    }
+
+    private static Path deflate(Path path, String content) throws IOException {
+        try (OutputStream out = new DeflaterOutputStream(Files.newOutputStream(path))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return path;
+    }
+
+    private static Parameter parameter(Class<?> type) throws NoSuchMethodException {
+        Method method = Parameters.class.getDeclaredMethod("parameter", type);
+        return method.getParameters()[0];
+    }
+
+    private static Parameter lazyParameter() throws NoSuchMethodException {
+        return Parameters.class.getDeclaredMethod("lazy", Supplier.class).getParameters()[0];
+    }
+
+    @SuppressWarnings("unused")
+    private static class Parameters {
+        void parameter(String value) {
+        }
+
+        void parameter(byte[] value) {
+        }
+
+        void parameter(InputStream value) {
+        }
+
+        void parameter(ByteBuffer value) {
+        }
+
+        void parameter(MappedByteBuffer value) {
+        }
+
+        void parameter(Path value) {
+        }
+
+        void lazy(Supplier<String> value) {
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package dev.sirosh.case_folders.classpath_utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileContentCacheTest {
+
+    @Test
+    void readsFileOnce(@TempDir Path folder) throws IOException {
+        Path file = Files.writeString(folder.resolve("cat"), "meme cats");
+        FileContentCache cache = new FileContentCache(1024);
+
+        assertThat(cache.string(file)).isEqualTo("meme cats");
+        assertThat(cache.string(file)).isEqualTo("meme cats");
+        assertThat(cache.bytes(file)).isEqualTo("meme cats".getBytes());
+
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(2);
+        assertThat(cache.usedBytes()).isEqualTo(18 + 9);
+    }
+
+    @Test
+    void readsModifiedFileAgain(@TempDir Path folder) throws IOException {
+        Path file = Files.writeString(folder.resolve("cat"), "meme cats");
+        FileContentCache cache = new FileContentCache(1024);
+        cache.string(file);
+
+        Files.writeString(file, "my cats");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+
+        assertThat(cache.string(file)).isEqualTo("my cats");
+        assertThat(cache.misses()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed(@TempDir Path folder) throws IOException {
+        Path cat = Files.writeString(folder.resolve("cat"), "cat");
+        Path dog = Files.writeString(folder.resolve("dog"), "dog");
+        Path fox = Files.writeString(folder.resolve("fox"), "fox");
+        FileContentCache cache = new FileContentCache(6);
+
+        cache.bytes(cat);
+        cache.bytes(dog);
+        cache.bytes(cat);
+        cache.bytes(fox);
+        cache.bytes(cat);
+
+        assertThat(cache.evictions()).isEqualTo(1);
+        assertThat(cache.hits()).isEqualTo(2);
+        assertThat(cache.usedBytes()).isEqualTo(6);
+    }
+
+    @Test
+    void doesNotCacheFilesOverBudget(@TempDir Path folder) throws IOException {
+        Path file = Files.writeString(folder.resolve("cat"), "meme cats");
+        FileContentCache cache = new FileContentCache(4);
+
+        assertThat(cache.bytes(file)).isEqualTo("meme cats".getBytes());
+
+        assertThat(cache.usedBytes()).isZero();
+        assertThat(cache.evictions()).isZero();
+    }
+
+    @Test
+    void handsOutCopiesOfCachedBytes(@TempDir Path folder) throws Exception {
+        Path file = Files.writeString(folder.resolve("cat"), "cat");
+        ConverterSettings settings = new ConverterSettings(1024, new FileContentCache(1024));
+        PathConverter converter = FileConverter.fileConverter(
+                FileContentCacheTest.class.getDeclaredMethod("test", byte[].class).getParameters()[0], settings);
+
+        byte[] first = (byte[]) converter.convert(file, new CaseResources());
+        first[0] = 'b';
+
+        assertThat((byte[]) converter.convert(file, new CaseResources())).isEqualTo("cat".getBytes());
+        assertThat(settings.getContentCache().hits()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unused")
+    private static void test(byte[] cat) {
+    }
+}
@@ -0,0 +1,216 @@
+package dev.sirosh.case_folders.classpath_utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.commons.PreconditionViolationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class FileConverterTest {
+
+    @Test
+    void readsSmallFileToHeapBuffer(@TempDir Path folder) throws Exception {
+        Path file = Files.writeString(folder.resolve("cat"), "meme cats");
+        CaseResources resources = new CaseResources();
+
+        ByteBuffer buffer = (ByteBuffer) FileConverter.fileConverter(parameter(ByteBuffer.class), new ConverterSettings(1024, null))
+                .convert(file, resources);
+
+        assertThat(buffer.isDirect()).isFalse();
+        assertThat(buffer.isReadOnly()).isTrue();
+        assertThat(StandardCharsets.UTF_8.decode(buffer).toString()).isEqualTo("meme cats");
+        assertThat(resources.isEmpty()).isTrue();
+    }
+
+    @Test
+    void mapsFileAboveThreshold(@TempDir Path folder) throws Exception {
+        Path file = Files.writeString(folder.resolve("cat"), "meme cats");
+        CaseResources resources = new CaseResources();
+
+        ByteBuffer buffer = (ByteBuffer) FileConverter.fileConverter(parameter(ByteBuffer.class), new ConverterSettings(4, null))
+                .convert(file, resources);
+
+        assertThat(buffer.isDirect()).isTrue();
+        assertThat(buffer.isReadOnly()).isTrue();
+        assertThat(StandardCharsets.UTF_8.decode(buffer).toString()).isEqualTo("meme cats");
+        assertThat(resources.isEmpty()).isFalse();
+
+        resources.close();
+        assertThat(resources.isEmpty()).isTrue();
+    }
+
+    @Test
+    void readsCharBufferOnHeapAboveThreshold(@TempDir Path folder) throws IOException {
+        Path file = Files.writeString(folder.resolve("cat"), "кот");
+        CaseResources resources = new CaseResources();
+
+        CharBuffer buffer = (CharBuffer) FileConverter.fileConverter(parameter(CharBuffer.class), new ConverterSettings(0, null))
+                .convert(file, resources);
+
+        assertThat(buffer.toString()).isEqualTo("кот");
+        assertThat(buffer.isReadOnly()).isTrue();
+        assertThat(buffer.isDirect()).isFalse();
+        assertThat(resources.isEmpty()).isTrue();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void readsSupplierOnFirstAccessOnly(@TempDir Path folder) throws IOException {
+        Path file = folder.resolve("cat");
+
+        Supplier<String> supplier = (Supplier<String>) FileConverter.fileConverter(parameter(Supplier.class), new ConverterSettings(1024, null))
+                .convert(file, new CaseResources());
+        Files.writeString(file, "meme cats");
+
+        assertThat(supplier.get()).isEqualTo("meme cats");
+        Files.delete(file);
+        assertThat(supplier.get()).isEqualTo("meme cats");
+    }
+
+    @Test
+    void rejectsRawSupplier() throws NoSuchMethodException {
+        Parameter parameter = FileConverterTest.class.getDeclaredMethod("testRaw", Supplier.class).getParameters()[0];
+
+        assertThatExceptionOfType(PreconditionViolationException.class)
+                .isThrownBy(() -> FileConverter.fileConverter(parameter, ConverterSettings.DEFAULT));
+    }
+
+    @Test
+    void closesStreamsLeftOpen(@TempDir Path folder) throws Exception {
+        Path file = Files.writeString(folder.resolve("cat"), "meme cats");
+        CaseResources resources = new CaseResources();
+        PathConverter converter = FileConverter.fileConverter(parameter(InputStream.class), ConverterSettings.DEFAULT);
+
+        InputStream closed = (InputStream) converter.convert(file, resources);
+        InputStream leaked = (InputStream) converter.convert(file, resources);
+        closed.close();
+        resources.close();
+
+        assertThat(resources.leaked()).isEqualTo(1);
+        assertThatExceptionOfType(IOException.class).isThrownBy(leaked::read);
+    }
+
+    @Test
+    void readsFileChannel(@TempDir Path folder) throws Exception {
+        Path file = Files.writeString(folder.resolve("cat"), "meme cats");
+        CaseResources resources = new CaseResources();
+
+        FileChannel channel = (FileChannel) FileConverter.fileConverter(parameter(FileChannel.class), ConverterSettings.DEFAULT)
+                .convert(file, resources);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4);
+        channel.read(buffer, 5);
+
+        assertThat(StandardCharsets.UTF_8.decode(buffer.flip()).toString()).isEqualTo("cats");
+        resources.close();
+        assertThat(channel.isOpen()).isFalse();
+        assertThat(resources.leaked()).isEqualTo(1);
+    }
+
+    @Test
+    void readsCompressedFileAsReadableChannel(@TempDir Path folder) throws Exception {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(folder.resolve("cat.gz")))) {
+            out.write("meme cats".getBytes(StandardCharsets.UTF_8));
+        }
+        CaseResources resources = new CaseResources();
+
+        ReadableByteChannel channel = (ReadableByteChannel) FileConverter
+                .fileConverter(parameter(ReadableByteChannel.class), ConverterSettings.DEFAULT)
+                .convert(folder.resolve("cat"), resources);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        while (channel.read(buffer) >= 0) {
+            assertThat(buffer.hasRemaining()).isTrue();
+        }
+        channel.close();
+
+        assertThat(StandardCharsets.UTF_8.decode(buffer.flip()).toString()).isEqualTo("meme cats");
+        resources.close();
+        assertThat(resources.leaked()).isZero();
+        assertThatExceptionOfType(PreconditionViolationException.class)
+                .isThrownBy(() -> FileConverter.fileConverter(parameter(SeekableByteChannel.class), ConverterSettings.DEFAULT)
+                        .convert(folder.resolve("cat"), new CaseResources()));
+    }
+
+    @Test
+    void convertsWithRegisteredConverter(@TempDir Path folder) throws IOException {
+        Path file = Files.writeString(folder.resolve("cat.properties"), "name=Jiji\ncolor=black\n");
+
+        Properties cat = (Properties) FileConverter.fileConverter(parameter(Properties.class), ConverterSettings.DEFAULT)
+                .convert(file, new CaseResources());
+
+        assertThat(cat).containsEntry("name", "Jiji").containsEntry("color", "black");
+    }
+
+    @Test
+    void rejectsTypeWithoutConverter() {
+        assertThatExceptionOfType(PreconditionViolationException.class)
+                .isThrownBy(() -> FileConverter.fileConverter(parameter(Object[].class), ConverterSettings.DEFAULT))
+                .withMessageContaining(Properties.class.getName());
+    }
+
+    private static Parameter parameter(Class<?> type) {
+        try {
+            Method method = FileConverterTest.class.getDeclaredMethod("test", type);
+            return method.getParameters()[0];
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static void test(ByteBuffer buffer) {
+    }
+
+    @SuppressWarnings("unused")
+    private static void test(CharBuffer buffer) {
+    }
+
+    @SuppressWarnings("unused")
+    private static void test(InputStream cat) {
+    }
+
+    @SuppressWarnings("unused")
+    private static void test(ReadableByteChannel cat) {
+    }
+
+    @SuppressWarnings("unused")
+    private static void test(SeekableByteChannel cat) {
+    }
+
+    @SuppressWarnings("unused")
+    private static void test(FileChannel cat) {
+    }
+
+    @SuppressWarnings("unused")
+    private static void test(Properties cat) {
+    }
+
+    @SuppressWarnings("unused")
+    private static void test(Object[] cat) {
+    }
+
+    @SuppressWarnings("unused")
+    private static void test(Supplier<String> cat) {
+    }
+
+    @SuppressWarnings({"unused", "rawtypes"})
+    private static void testRaw(Supplier cat) {
+    }
+}
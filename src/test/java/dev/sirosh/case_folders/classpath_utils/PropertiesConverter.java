@@ -0,0 +1,26 @@
+package dev.sirosh.case_folders.classpath_utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * registered in test {@code META-INF/services}, reads properties straight from file stream
+ */
+public class PropertiesConverter implements CaseFileConverter<Properties> {
+
+    @Override
+    public Class<Properties> type() {
+        return Properties.class;
+    }
+
+    @Override
+    public Properties convert(Path file, CaseResources resources) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream input = CompressedFiles.newInputStream(file)) {
+            properties.load(input);
+        }
+        return properties;
+    }
+}
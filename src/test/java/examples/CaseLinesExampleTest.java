@@ -0,0 +1,36 @@
+package examples;
+
+import dev.sirosh.case_folders.CaseField;
+import dev.sirosh.case_folders.CaseLinesSource;
+import dev.sirosh.case_folders.JsonArgument;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CaseLinesExampleTest {
+
+    /**
+     * every line of NDJSON file is one case, fields are converted to parameter types by jackson
+     */
+    @ParameterizedTest(name = "{0}")
+    @CaseLinesSource(file = "/examples/cat_lines/cats.ndjson", nameField = "name")
+    public void catsFromLines(@CaseField("age") int age, @CaseField("friends") List<String> friends,
+                              @CaseField("owner") String owner) {
+        assertThat(age).isPositive();
+        assertThat(friends).doesNotContainNull();
+    }
+
+    /**
+     * CSV values are strings, converted by junit or parsed by @JsonArgument
+     */
+    @ParameterizedTest(name = "{0}")
+    @CaseLinesSource(file = "/examples/cat_lines/cats.csv")
+    public void catsFromCsv(@CaseField("name") String name, @CaseField("owner") String owner, @CaseField("age") int age,
+                            @CaseField("cat") @JsonArgument JsonExampleTest.Cat cat) {
+        assertThat(cat.getName()).isEqualTo(name);
+        assertThat(owner).isNotBlank();
+        assertThat(age).isPositive();
+    }
+}
@@ -0,0 +1,41 @@
+package examples;
+
+import dev.sirosh.case_folders.CaseFile;
+import dev.sirosh.case_folders.CaseFileArgumentsProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @CaseFile fields are injected into test instance, with PER_CLASS lifecycle large reference data is loaded
+ * once for all test methods
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ExtendWith(CaseFileArgumentsProvider.class)
+public class FieldInjectionExampleTest {
+    @CaseFile(file = "/examples/cat_with_red_scarf")
+    private String catWithRedScarfName;
+
+    /**
+     * Supplier fields are read on first get() and kept by instance
+     */
+    @CaseFile(file = "/examples/kikis_cat")
+    private Supplier<String> kikisCatName;
+
+    @Test
+    void catWithRedScarf() {
+        assertThat(catWithRedScarfName)
+                .isEqualTo("Sakamoto");
+    }
+
+    @Test
+    void kikisCat() {
+        assertThat(kikisCatName.get())
+                .isEqualTo("Jiji")
+                .isSameAs(kikisCatName.get());
+    }
+}
@@ -0,0 +1,73 @@
+package examples;
+
+import dev.sirosh.case_folders.CaseFile;
+import dev.sirosh.case_folders.CaseFileArgumentsProvider;
+import dev.sirosh.case_folders.CaseFolderSource;
+import dev.sirosh.case_folders.JsonArgument;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(CaseFileArgumentsProvider.class)
+public class JsonExampleTest {
+    /**
+     * same works for single @CaseFile parameter of regular test
+     */
+    @Test
+    void catFromShelter(@CaseFile(file = "/examples/cat_shelter/jiji/cat.json") @JsonArgument Cat cat) {
+        assertThat(cat.getOwner()).isEqualTo("Kiki");
+    }
+
+    /**
+     * @CaseFile with @JsonArgument is parsed by jackson straight from file
+     */
+    @ParameterizedTest(name = "{0}")
+    @CaseFolderSource(folder = "/examples/cat_shelter")
+    public void catsFromShelter(@CaseFile(file = "cat.json") @JsonArgument Cat cat) {
+        assertThat(cat.getName()).isIn("Sakamoto", "Jiji");
+        assertThat(cat.getFriends()).isNotEmpty();
+    }
+
+    public static class Cat {
+        private String name;
+        private String owner;
+        private int age;
+        private List<String> friends;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public void setOwner(String owner) {
+            this.owner = owner;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public List<String> getFriends() {
+            return friends;
+        }
+
+        public void setFriends(List<String> friends) {
+            this.friends = friends;
+        }
+    }
+}
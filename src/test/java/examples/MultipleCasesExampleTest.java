@@ -8,9 +8,12 @@ import org.junit.jupiter.params.ParameterizedTest;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -95,4 +98,28 @@ public class MultipleCasesExampleTest {
                         "Maxwell the Cat, also known as Spinning Cat (actual name: Jess) likes to hang out in Paw&Tail cafe"
                 ));
     }
+
+    /**
+     * @CaseFile also can be ByteBuffer, MappedByteBuffer or CharBuffer,
+     * files larger than casefolders.mapping.threshold configuration parameter (16MB by default) are memory mapped
+     * and unmapped after test invocation
+     */
+    @ParameterizedTest(name = "{0}")
+    @CaseFolderSource(folder = "/examples/cat_cafe_cats")
+    public void iteratingCatNamesInCatCafe_buffer(@CaseFile(file = "name") MappedByteBuffer name) {
+        assertThat(StandardCharsets.UTF_8.decode(name).toString())
+                .endsWith(")");
+    }
+
+    /**
+     * Supplier of any @CaseFile type reads file only when get() is called, once per test invocation
+     */
+    @ParameterizedTest(name = "{0}")
+    @CaseFolderSource(folder = "/examples/cat_cafe_cats")
+    public void iteratingCatNamesInCatCafe_lazy(@CaseFile(file = "name") Supplier<String> name,
+                                                @CaseFile(file = "name_rus") Supplier<String> russianName) {
+        if (name.get().startsWith("long cat")) {
+            assertThat(russianName.get()).startsWith("Длинный кот");
+        }
+    }
 }